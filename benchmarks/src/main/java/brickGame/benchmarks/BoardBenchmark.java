@@ -0,0 +1,42 @@
+package brickGame.benchmarks;
+
+import brickGame.GameSimulation;
+import brickGame.GameState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building a level board ({@code initBoard}) at different widths, where the width is
+ * {@code level + diffLevel} rows of four blocks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+    @Param({"5", "12", "26"})
+    public int width;
+
+    private final GameSimulation simulation = new GameSimulation(120);
+
+    @Benchmark
+    public int initLevel() {
+        GameState state = simulation.getState();
+        simulation.clearLevel();
+        state.level = width - GameSimulation.DIFF_LEVEL;
+        simulation.initLevel();
+        return state.board.getBlockCount();
+    }
+}
@@ -0,0 +1,91 @@
+package brickGame.benchmarks;
+
+import brickGame.BallSweep;
+import brickGame.Block;
+import brickGame.Board;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-tick cost of finding the block hit by the ball: the original linear
+ * {@code checkHitToBlock} scan over a list of {@code Block} objects, the cell lookup on the
+ * structure-of-arrays {@code Board}, and the swept test against it.
+ * <p>
+ * Boards have four columns and {@code rows} rows; ball positions are drawn from inside the board.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+    private static final int POSITIONS = 1024;
+
+    @Param({"6", "26", "250", "2500"})
+    public int rows;
+
+    private final ArrayList<Block> blocks = new ArrayList<Block>();
+    private final int[] cells = new int[4];
+    private final BallSweep sweep = new BallSweep();
+    private Board board;
+    private final double[] xs = new double[POSITIONS];
+    private final double[] ys = new double[POSITIONS];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        blocks.clear();
+        board = new Board(rows, 4);
+        for (int column = 0; column < 4; column++) {
+            for (int row = 0; row < rows; row++) {
+                blocks.add(new Block(row, column, 0, Block.BLOCK_NORMAL));
+                board.place(row, column, Block.BLOCK_NORMAL, 0);
+            }
+        }
+
+        Random random = new Random(42);
+        for (int i = 0; i < POSITIONS; i++) {
+            xs[i] = Block.getPaddingH() + random.nextInt(4 * Block.getWidth() + 1);
+            ys[i] = Block.getPaddingTop() + random.nextInt(rows * Block.getHeight() + 1);
+        }
+    }
+
+    @Benchmark
+    public void linearScan(Blackhole blackhole) {
+        int i = next++ & (POSITIONS - 1);
+        for (Block block : blocks) {
+            blackhole.consume(block.checkHitToBlock(xs[i], ys[i]));
+        }
+    }
+
+    @Benchmark
+    public void boardLookup(Blackhole blackhole) {
+        int i = next++ & (POSITIONS - 1);
+        int count = board.query(xs[i], ys[i], xs[i], ys[i], cells);
+        for (int c = 0; c < count; c++) {
+            blackhole.consume(board.getType(cells[c]));
+        }
+    }
+
+    @Benchmark
+    public boolean sweptBoard() {
+        int i = next++ & (POSITIONS - 1);
+        return sweep.sweepBoard(board, xs[i], ys[i] + 8, 7, -8, 10);
+    }
+}
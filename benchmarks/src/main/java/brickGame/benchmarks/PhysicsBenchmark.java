@@ -0,0 +1,101 @@
+package brickGame.benchmarks;
+
+import brickGame.Board;
+import brickGame.GameSimulation;
+import brickGame.GameState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one simulation tick of ball physics ({@code setPhysicsToBall} and the bonus and gold
+ * updates around it), with and without a board for the ball to collide with.
+ * <p>
+ * The game is set to level 2, where the ball bounces off the bottom wall instead of sticking to
+ * the paddle, so every tick runs the full physics path.
+ * </p>
+ * <p>
+ * Left to play on, the ball clears a level 2 board in a few thousand ticks and then sticks to the
+ * paddle, far sooner than one measurement iteration ends. The full board case therefore starts
+ * every invocation from a freshly launched level and times {@link #FULL_BOARD_TICKS} ticks of it,
+ * during which the board stays close to full.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PhysicsBenchmark {
+    /**
+     * The ticks timed per invocation of the full board case, ten seconds of play.
+     */
+    public static final int FULL_BOARD_TICKS = 1200;
+    /**
+     * The seed of every level built, so every run plays the same board.
+     */
+    private static final long SEED = 1;
+
+    private GameSimulation emptyBoard;
+
+    /**
+     * A freshly launched level with its board still full, rebuilt before every invocation.
+     */
+    @State(Scope.Thread)
+    public static class FullBoard {
+        private GameSimulation simulation;
+
+        @Setup(Level.Invocation)
+        public void setUp() {
+            simulation = launched(false);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        emptyBoard = launched(true);
+    }
+
+    private static GameSimulation launched(boolean empty) {
+        GameSimulation simulation = new GameSimulation(120);
+        simulation.setSeed(SEED);
+        GameState state = simulation.getState();
+        state.level = 2;
+        simulation.initLevel();
+        if (empty) {
+            state.board = new Board(0, 0);
+            // Keep the cleared board from sticking the ball back onto the paddle
+            state.isLevelCleared = true;
+        }
+        simulation.step(GameSimulation.INPUT_LAUNCH);
+        return simulation;
+    }
+
+    @Benchmark
+    public GameState stepEmptyBoard() {
+        emptyBoard.step(0);
+        return emptyBoard.getState();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FULL_BOARD_TICKS)
+    public GameState stepFullBoard(FullBoard fullBoard) {
+        GameSimulation simulation = fullBoard.simulation;
+        for (int i = 0; i < FULL_BOARD_TICKS; i++) {
+            simulation.step(0);
+        }
+        return simulation.getState();
+    }
+}
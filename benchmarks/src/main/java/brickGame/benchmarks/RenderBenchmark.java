@@ -0,0 +1,112 @@
+package brickGame.benchmarks;
+
+import brickGame.Block;
+import brickGame.Board;
+import brickGame.BoardRenderer;
+import brickGame.CanvasBoardRenderer;
+import brickGame.GameSimulation;
+import brickGame.NodeBoardRenderer;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the node and canvas board renderers on one frame: a block changes, the renderer
+ * repaints its cell, and the whole scene is drawn with {@code Scene.snapshot}, which walks the
+ * scene graph like a pulse does.
+ * <p>
+ * This benchmark needs the JavaFX toolkit and therefore a display.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderBenchmark {
+    @Param({"nodes", "canvas"})
+    public String renderer;
+
+    @Param({"26", "250"})
+    public int rows;
+
+    private BoardRenderer boardRenderer;
+    private Board board;
+    private Scene scene;
+    private WritableImage image;
+    private int next;
+
+    @Setup
+    public void setUp() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        try {
+            Platform.startup(started::countDown);
+        } catch (IllegalStateException e) {
+            // Already started by a previous trial in this JVM
+            started.countDown();
+        }
+        started.await();
+
+        onFxThread(() -> {
+            Color[] palette = new Color[GameSimulation.BLOCK_COLOR_COUNT];
+            for (int i = 0; i < palette.length; i++) {
+                palette[i] = Color.hsb(i * 360.0 / palette.length, 0.8, 0.9);
+            }
+            boardRenderer = "canvas".equals(renderer) ? new CanvasBoardRenderer(palette) : new NodeBoardRenderer(palette);
+
+            board = new Board(rows, 4);
+            for (int row = 0; row < rows; row++) {
+                for (int column = 0; column < 4; column++) {
+                    board.place(row, column, Block.BLOCK_NORMAL, (row + column) % palette.length);
+                }
+            }
+            boardRenderer.setBoard(board);
+
+            Pane root = new Pane(boardRenderer.getNode());
+            scene = new Scene(root, GameSimulation.SCENE_WIDTH, GameSimulation.SCENE_HEIGHT);
+            image = new WritableImage(GameSimulation.SCENE_WIDTH, GameSimulation.SCENE_HEIGHT);
+            return null;
+        });
+    }
+
+    @Benchmark
+    public WritableImage frame() throws Exception {
+        return onFxThread(() -> {
+            // Alternate destroying and restoring a visible cell so the board never runs out of blocks
+            int cell = next++ % (4 * 20);
+            if (board.isLive(cell)) {
+                board.destroy(cell);
+            } else {
+                board.place(board.getRow(cell), board.getColumn(cell), Block.BLOCK_NORMAL, 0);
+            }
+            boardRenderer.markDirty(cell);
+            boardRenderer.render();
+            return scene.snapshot(image);
+        });
+    }
+
+    private static <T> T onFxThread(Callable<T> task) throws Exception {
+        FutureTask<T> future = new FutureTask<T>(task);
+        Platform.runLater(future);
+        return future.get();
+    }
+}
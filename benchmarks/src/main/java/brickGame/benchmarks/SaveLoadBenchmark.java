@@ -0,0 +1,85 @@
+package brickGame.benchmarks;
+
+import brickGame.GameSimulation;
+import brickGame.GameSnapshot;
+import brickGame.GameState;
+import brickGame.LoadSave;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures taking a snapshot, writing a save file, reading it back, and the full round trip, for a
+ * level 21 board.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SaveLoadBenchmark {
+    private GameSimulation simulation;
+    private GameState state;
+    private File file;
+
+    @Setup
+    public void setUp() throws IOException {
+        simulation = new GameSimulation(120);
+        state = simulation.getState();
+        state.level = 21;
+        simulation.initLevel();
+
+        file = File.createTempFile("brickGame-bench", ".mdds");
+        LoadSave.write(simulation.capture(), file);
+    }
+
+    @TearDown
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public GameSnapshot snapshot() {
+        // The board is unchanged, so this measures the tick-boundary copy the simulation thread pays
+        return simulation.capture();
+    }
+
+    @Benchmark
+    public GameSnapshot snapshotFullBoard() {
+        return GameSnapshot.of(state);
+    }
+
+    @Benchmark
+    public File save() throws IOException {
+        LoadSave.write(simulation.capture(), file);
+        return file;
+    }
+
+    @Benchmark
+    public LoadSave load() {
+        LoadSave loadSave = new LoadSave();
+        loadSave.read(file);
+        return loadSave;
+    }
+
+    @Benchmark
+    public LoadSave roundTrip() throws IOException {
+        LoadSave.write(simulation.capture(), file);
+        LoadSave loadSave = new LoadSave();
+        loadSave.read(file);
+        return loadSave;
+    }
+}
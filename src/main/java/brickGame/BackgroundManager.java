@@ -0,0 +1,254 @@
+package brickGame;
+
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The {@code BackgroundManager} class decodes the level backgrounds off the JavaFX thread and
+ * shows them behind the game.
+ * <p>
+ * Each background is decoded once, at the scene size, on a dedicated worker thread. Decoded images
+ * are kept in a least-recently-used cache bounded by a byte budget, and while a level is shown the
+ * background of the next level is prefetched, so a level change only swaps the image of one
+ * {@link ImageView} instead of re-applying CSS and decoding a full-size file.
+ * </p>
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>
+ * {@code
+ * BackgroundManager backgrounds = new BackgroundManager(BackgroundManager.DEFAULT_BUDGET_BYTES);
+ * root.getChildren().add(0, backgrounds.getView());
+ * backgrounds.show(state.level);
+ * }
+ * </pre>
+ */
+public class BackgroundManager {
+    /**
+     * The default cache budget, room for about six decoded backgrounds.
+     */
+    public static final long DEFAULT_BUDGET_BYTES = 8L * 1024 * 1024;
+
+    /**
+     * The background image of each level, indexed by level; levels outside the table have none.
+     */
+    private static final String[] BACKGROUNDS = {
+            null,
+            "bg1.jpg", "bg2.png", "bg3.jpg", "bg4.jpg", "bg5.jpg", "bg6.jpg", "bg7.png",
+            "bg8.jpg", "bg9.jpg", "bg10.png", "bg11.png", "bg12.png", "bg13.jpg", "bg14.png",
+            "bg15.jpg", "bg16.jpg", "bg17.jpg", "bg18.jpg", "bg19.jpg", "bg20.jpg", "bg21.jpg",
+    };
+
+    /**
+     * The view drawing the current background, below everything else in the scene.
+     */
+    private final ImageView view = new ImageView();
+    /**
+     * The maximum number of bytes of decoded images kept in the cache.
+     */
+    private final long budgetBytes;
+    /**
+     * The single thread that decodes every background.
+     */
+    private final ExecutorService decoder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "BackgroundManager-decoder");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /**
+     * The decoded images in access order, least recently used first. Guarded by {@code this}.
+     */
+    private final LinkedHashMap<String, Image> cache = new LinkedHashMap<String, Image>(16, 0.75f, true);
+    /**
+     * The decodes that have been queued but not finished yet. Guarded by {@code this}.
+     */
+    private final Map<String, CompletableFuture<Image>> decoding = new HashMap<String, CompletableFuture<Image>>();
+    /**
+     * The bytes of decoded images held by the cache. Guarded by {@code this}.
+     */
+    private long cachedBytes;
+    /**
+     * The level whose background should be on screen; only used on the JavaFX application thread.
+     */
+    private int shownLevel = -1;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Constructs a {@code BackgroundManager} with an empty cache.
+     *
+     * @param budgetBytes The maximum number of bytes of decoded images to keep.
+     *                    <p>
+     *                    Example usage:
+     *                    </p>
+     *                    <pre>
+     *                    {@code
+     *                    BackgroundManager backgrounds = new BackgroundManager(8L * 1024 * 1024);
+     *                    }
+     *                    </pre>
+     */
+    public BackgroundManager(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+        view.setMouseTransparent(true);
+        view.setManaged(false);
+    }
+
+    /**
+     * Gets the view drawing the current background. Add it as the first child of the root pane.
+     *
+     * @return The background view.
+     */
+    public ImageView getView() {
+        return view;
+    }
+
+    /**
+     * Shows the background of a level and prefetches the background of the level after it.
+     * Call this on the JavaFX application thread when the level changes.
+     *
+     * @param level The level being shown.
+     */
+    public void show(int level) {
+        shownLevel = level;
+        CompletableFuture<Image> image = load(level);
+        Image ready = image.getNow(null);
+        if (ready != null || image.isDone()) {
+            view.setImage(ready);
+        } else {
+            // Keep the old background until the new one is decoded
+            image.thenAccept(decoded -> Platform.runLater(() -> {
+                if (shownLevel == level) {
+                    view.setImage(decoded);
+                }
+            }));
+        }
+        prefetch(level + 1);
+    }
+
+    /**
+     * Starts decoding the background of a level in the background, if it is not cached yet.
+     *
+     * @param level The level to prefetch.
+     */
+    public void prefetch(int level) {
+        load(level);
+    }
+
+    /**
+     * Gets the decoded background of a level, decoding it on the worker thread if needed.
+     *
+     * @param level The level.
+     * @return A future completed with the image, or with {@code null} if the level has no
+     * background or it could not be decoded.
+     */
+    public synchronized CompletableFuture<Image> load(int level) {
+        String url = level >= 0 && level < BACKGROUNDS.length ? BACKGROUNDS[level] : null;
+        if (url == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        Image cached = cache.get(url);
+        if (cached != null) {
+            hits++;
+            return CompletableFuture.completedFuture(cached);
+        }
+        CompletableFuture<Image> pending = decoding.get(url);
+        if (pending != null) {
+            hits++;
+            return pending;
+        }
+
+        misses++;
+        CompletableFuture<Image> future = CompletableFuture.supplyAsync(() -> decode(url), decoder);
+        decoding.put(url, future);
+        return future;
+    }
+
+    /**
+     * Decodes a background at the scene size and stores it in the cache. Runs on the worker thread.
+     */
+    private Image decode(String url) {
+        Image image = new Image(url, GameSimulation.SCENE_WIDTH, GameSimulation.SCENE_HEIGHT, false, true);
+        if (image.isError()) {
+            image.getException().printStackTrace();
+            image = null;
+        }
+
+        synchronized (this) {
+            decoding.remove(url);
+            if (image != null) {
+                cache.put(url, image);
+                cachedBytes += sizeOf(image);
+                evict();
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Drops the least recently used images until the cache fits its budget, always keeping the newest.
+     */
+    private void evict() {
+        Iterator<Image> images = cache.values().iterator();
+        while (cachedBytes > budgetBytes && cache.size() > 1) {
+            Image image = images.next();
+            images.remove();
+            cachedBytes -= sizeOf(image);
+            evictions++;
+        }
+    }
+
+    /**
+     * Gets the memory taken by a decoded image, at four bytes per pixel.
+     */
+    private static long sizeOf(Image image) {
+        return (long) image.getWidth() * (long) image.getHeight() * 4;
+    }
+
+    /**
+     * Gets the bytes of decoded images held by the cache.
+     *
+     * @return The cached bytes.
+     */
+    public synchronized long getCachedBytes() {
+        return cachedBytes;
+    }
+
+    /**
+     * Gets the number of loads served from the cache or from a decode already in progress.
+     *
+     * @return The hit count.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Gets the number of loads that had to start a decode.
+     *
+     * @return The miss count.
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Gets the number of images dropped from the cache to stay within the budget.
+     *
+     * @return The eviction count.
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+}
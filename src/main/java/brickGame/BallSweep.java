@@ -0,0 +1,256 @@
+package brickGame;
+
+/**
+ * The {@code BallSweep} class performs continuous (swept) collision detection between the ball
+ * and the blocks of the board.
+ * <p>
+ * Instead of testing the ball centre against block edges with exact equality, the ball circle is
+ * swept along its motion for the tick and tested against each block's bounds expanded by the ball
+ * radius, with rounded corners. The earliest contact is reported as a time of impact in
+ * {@code [0, 1]} together with the face of the block that was hit, so fast balls cannot tunnel
+ * through a block between two ticks.
+ * </p>
+ * <p>
+ * Long motions are split into substeps no longer than the ball radius (up to {@link #MAX_SUBSTEPS})
+ * so each board lookup only covers the cells around one short segment.
+ * </p>
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>
+ * {@code
+ * BallSweep sweep = new BallSweep();
+ * if (sweep.sweepBoard(board, prevX, prevY, xBall - prevX, yBall - prevY, ballRadius)) {
+ *     int cell = sweep.cell;
+ *     int hitCode = sweep.face;
+ * }
+ * }
+ * </pre>
+ */
+public class BallSweep {
+    /**
+     * The maximum number of substeps a single motion is split into.
+     */
+    private static final int MAX_SUBSTEPS = 8;
+
+    /**
+     * The board cell of the block hit by the last successful sweep, or -1.
+     */
+    public int cell = -1;
+    /**
+     * The time of impact of the last successful sweep, as a fraction of the whole motion.
+     */
+    public double time;
+    /**
+     * The face of the block hit by the last successful sweep, one of the {@code Block.HIT_*} constants.
+     */
+    public int face = Block.NO_HIT;
+    /**
+     * The x-coordinate of the ball centre at the time of impact.
+     */
+    public double x;
+    /**
+     * The y-coordinate of the ball centre at the time of impact.
+     */
+    public double y;
+
+    /**
+     * Sweeps the ball along its motion against the live blocks of the board and records the earliest hit.
+     *
+     * @param board  The board.
+     * @param x0     The x-coordinate of the ball centre at the start of the motion.
+     * @param y0     The y-coordinate of the ball centre at the start of the motion.
+     * @param dx     The horizontal displacement of the ball over the motion.
+     * @param dy     The vertical displacement of the ball over the motion.
+     * @param radius The radius of the ball.
+     * @return {@code true} if a block was hit, in which case the public fields describe the hit.
+     */
+    public boolean sweepBoard(Board board, double x0, double y0, double dx, double dy, double radius) {
+        face = Block.NO_HIT;
+        cell = -1;
+
+        double length = Math.sqrt(dx * dx + dy * dy);
+        int substeps = Math.max(1, Math.min(MAX_SUBSTEPS, (int) Math.ceil(length / radius)));
+        int columns = board.getColumns();
+        double width = Block.getWidth();
+        double height = Block.getHeight();
+
+        for (int i = 0; i < substeps; i++) {
+            double t0 = (double) i / substeps;
+            double t1 = (double) (i + 1) / substeps;
+            double sx = x0 + dx * t0;
+            double sy = y0 + dy * t0;
+            double ex = x0 + dx * t1;
+            double ey = y0 + dy * t1;
+
+            // Walk the cells under this segment's bounding box straight from the board's arrays
+            int firstColumn = board.firstColumn(Math.min(sx, ex) - radius);
+            int lastColumn = board.lastColumn(Math.max(sx, ex) + radius);
+            int firstRow = board.firstRow(Math.min(sy, ey) - radius);
+            int lastRow = board.lastRow(Math.max(sy, ey) + radius);
+
+            double bestTime = Double.MAX_VALUE;
+            int bestFace = Block.NO_HIT;
+            int bestCell = -1;
+            for (int row = firstRow; row <= lastRow; row++) {
+                double top = row * height + Block.getPaddingTop();
+                for (int column = firstColumn; column <= lastColumn; column++) {
+                    int candidate = row * columns + column;
+                    if (!board.isLive(candidate)) {
+                        continue;
+                    }
+                    double left = column * width + Block.getPaddingH();
+                    if (sweep(sx, sy, ex - sx, ey - sy, radius, left, top, left + width, top + height)
+                            && time < bestTime) {
+                        bestTime = time;
+                        bestFace = face;
+                        bestCell = candidate;
+                    }
+                }
+            }
+
+            if (bestCell >= 0) {
+                cell = bestCell;
+                face = bestFace;
+                time = t0 + bestTime * (t1 - t0);
+                x = x0 + dx * time;
+                y = y0 + dy * time;
+                return true;
+            }
+        }
+
+        face = Block.NO_HIT;
+        return false;
+    }
+
+    /**
+     * Sweeps a circle against an axis-aligned box and records the time of impact and the face hit.
+     *
+     * @param x      The x-coordinate of the circle centre at the start of the motion.
+     * @param y      The y-coordinate of the circle centre at the start of the motion.
+     * @param dx     The horizontal displacement over the motion.
+     * @param dy     The vertical displacement over the motion.
+     * @param radius The radius of the circle.
+     * @param left   The left edge of the box.
+     * @param top    The top edge of the box.
+     * @param right  The right edge of the box.
+     * @param bottom The bottom edge of the box.
+     * @return {@code true} if the circle touches the box during the motion, in which case
+     * {@link #time} and {@link #face} are set.
+     */
+    public boolean sweep(double x, double y, double dx, double dy, double radius,
+                         double left, double top, double right, double bottom) {
+        // Already touching at the start of the motion: report the shallowest face
+        double nearestX = Math.max(left, Math.min(x, right));
+        double nearestY = Math.max(top, Math.min(y, bottom));
+        double offX = x - nearestX;
+        double offY = y - nearestY;
+        if (offX * offX + offY * offY <= radius * radius) {
+            time = 0;
+            face = shallowestFace(x, y, left, top, right, bottom);
+            return true;
+        }
+
+        // Ray against the box expanded by the radius (slab test)
+        double tEnter = 0;
+        double tExit = 1;
+        int enterFace = Block.NO_HIT;
+
+        if (dx == 0) {
+            if (x < left - radius || x > right + radius) {
+                return false;
+            }
+        } else {
+            double tx1 = (left - radius - x) / dx;
+            double tx2 = (right + radius - x) / dx;
+            double near = Math.min(tx1, tx2);
+            double far = Math.max(tx1, tx2);
+            if (near > tEnter) {
+                tEnter = near;
+                enterFace = dx > 0 ? Block.HIT_LEFT : Block.HIT_RIGHT;
+            }
+            tExit = Math.min(tExit, far);
+        }
+
+        if (dy == 0) {
+            if (y < top - radius || y > bottom + radius) {
+                return false;
+            }
+        } else {
+            double ty1 = (top - radius - y) / dy;
+            double ty2 = (bottom + radius - y) / dy;
+            double near = Math.min(ty1, ty2);
+            double far = Math.max(ty1, ty2);
+            if (near > tEnter) {
+                tEnter = near;
+                enterFace = dy > 0 ? Block.HIT_TOP : Block.HIT_BOTTOM;
+            }
+            tExit = Math.min(tExit, far);
+        }
+
+        if (tEnter > tExit) {
+            return false;
+        }
+
+        // Entering through a corner of the expanded box: the real shape there is a quarter circle
+        double hitX = x + dx * tEnter;
+        double hitY = y + dy * tEnter;
+        boolean outsideX = hitX < left || hitX > right;
+        boolean outsideY = hitY < top || hitY > bottom;
+        if (outsideX && outsideY) {
+            double cornerX = hitX < left ? left : right;
+            double cornerY = hitY < top ? top : bottom;
+            double mx = x - cornerX;
+            double my = y - cornerY;
+            double a = dx * dx + dy * dy;
+            double b = mx * dx + my * dy;
+            double c = mx * mx + my * my - radius * radius;
+            double discriminant = b * b - a * c;
+            if (discriminant < 0) {
+                return false;
+            }
+            double t = (-b - Math.sqrt(discriminant)) / a;
+            if (t < 0 || t > 1) {
+                return false;
+            }
+            double normalX = x + dx * t - cornerX;
+            double normalY = y + dy * t - cornerY;
+            time = t;
+            if (Math.abs(normalX) > Math.abs(normalY)) {
+                face = normalX < 0 ? Block.HIT_LEFT : Block.HIT_RIGHT;
+            } else {
+                face = normalY < 0 ? Block.HIT_TOP : Block.HIT_BOTTOM;
+            }
+            return true;
+        }
+
+        if (enterFace == Block.NO_HIT) {
+            return false;
+        }
+
+        time = tEnter;
+        face = enterFace;
+        return true;
+    }
+
+    /**
+     * Picks the face of the box that a point inside or next to it is closest to.
+     */
+    private static int shallowestFace(double x, double y, double left, double top, double right, double bottom) {
+        double toLeft = Math.abs(x - left);
+        double toRight = Math.abs(right - x);
+        double toTop = Math.abs(y - top);
+        double toBottom = Math.abs(bottom - y);
+        double min = Math.min(Math.min(toLeft, toRight), Math.min(toTop, toBottom));
+        if (min == toBottom) {
+            return Block.HIT_BOTTOM;
+        }
+        if (min == toTop) {
+            return Block.HIT_TOP;
+        }
+        if (min == toRight) {
+            return Block.HIT_RIGHT;
+        }
+        return Block.HIT_LEFT;
+    }
+}
@@ -1,15 +1,13 @@
 package brickGame;
 
-import javafx.scene.image.Image;
-import javafx.scene.paint.Color;
-import javafx.scene.paint.ImagePattern;
-import javafx.scene.shape.Rectangle;
-
 import java.io.Serializable;
 
 /**
  * The {@code Block} class represents a block in the brick game.
- * It includes methods for drawing the block, checking hits, and retrieving block properties.
+ * It includes methods for positioning the block, checking hits, and retrieving block properties.
+ * Blocks carry no JavaFX state; the renderer draws them from their position, type and color index.
+ * The game itself keeps its blocks in a {@link Board}; this class holds the block constants and
+ * lattice dimensions shared with it.
  * <p>
  * <b>HTML Note:</b> The HTML tags can be used for formatting purposes in the generated Javadocs.
  * </p>
@@ -18,7 +16,7 @@ import java.io.Serializable;
  * </p>
  * <pre>
  * {@code
- * Block block = new Block(row, column, color, type);
+ * Block block = new Block(row, column, colorIndex, type);
  * int hitResult = block.checkHitToBlock(xBall, yBall);
  * }
  * </pre>
@@ -60,7 +58,7 @@ public class Block implements Serializable {
      * Represents a heart block type.
      */
     public static int BLOCK_HEART = 102;
-    private static final Block block = new Block(-1, -1, Color.TRANSPARENT, 99);
+    private static final Block block = new Block(-1, -1, 0, 99);
     /**
      * The width of the block.
      */
@@ -86,9 +84,9 @@ public class Block implements Serializable {
      */
     public boolean isDestroyed = false;
     /**
-     * The color of the block.
+     * The index of the block's color in the renderer's palette.
      */
-    public Color blockColor;
+    public int colorIndex;
     /**
      * The type of the block.
      */
@@ -101,38 +99,34 @@ public class Block implements Serializable {
      * The y-coordinate of the block.
      */
     public int yCoordinate;
-    /**
-     * The instance of the paddle.
-     */
-    public Rectangle rect;
     /**
      * The padding from the top of the window.
      */
     private final int paddingTop = blockHeight * 2;
 
     /**
-     * Constructs a {@code Block} object with the specified row, column, color, and type.
+     * Constructs a {@code Block} object with the specified row, column, color index, and type.
      *
-     * @param row    The row position of the block.
-     * @param column The column position of the block.
-     * @param color  The color of the block.
-     * @param type   The type of the block.
-     *               <p>
-     *               Example usage:
-     *               </p>
-     *               <pre>
-     *               {@code
-     *               Block block = new Block(row, column, color, type);
-     *               }
-     *               </pre>
+     * @param row        The row position of the block.
+     * @param column     The column position of the block.
+     * @param colorIndex The index of the block's color in the renderer's palette.
+     * @param type       The type of the block.
+     *                   <p>
+     *                   Example usage:
+     *                   </p>
+     *                   <pre>
+     *                   {@code
+     *                   Block block = new Block(row, column, colorIndex, type);
+     *                   }
+     *                   </pre>
      */
-    public Block(int row, int column, Color color, int type) {
+    public Block(int row, int column, int colorIndex, int type) {
         this.row = row;
         this.column = column;
-        this.blockColor = color;
+        this.colorIndex = colorIndex;
         this.blockType = type;
 
-        draw();
+        place();
     }
 
     /**
@@ -204,52 +198,20 @@ public class Block implements Serializable {
     }
 
     /**
-     * Draws the graphical representation of the block based on its properties.
-     * This method initializes the block's rectangle shape, sets its dimensions and position,
-     * and fills it with the appropriate color or image pattern based on the block's type.
-     * <p>
-     * The drawing process considers the block's type, such as normal, choco, heart, or star,
-     * and assigns the appropriate color or image pattern to the block's rectangle.
-     * </p>
-     * <p>
-     * This method should be called after initializing the block's properties (row, column, color, type)
-     * to visually represent the block in the brick game.
-     * </p>
+     * Computes the block's position on the board from its row and column.
      * <p>
      * Example usage:
      * <pre>
      * {@code
-     * Block block = new Block(row, column, color, type);
-     * block.drawBlock();
+     * Block block = new Block(row, column, colorIndex, type);
+     * int x = block.xCoordinate;
      * }
      * </pre>
      * </p>
      */
-    private void draw() {
+    private void place() {
         xCoordinate = (column * blockWidth) + paddingH;
         yCoordinate = (row * blockHeight) + paddingTop;
-
-        rect = new Rectangle();
-        rect.setWidth(blockWidth);
-        rect.setHeight(blockHeight);
-        rect.setX(xCoordinate);
-        rect.setY(yCoordinate);
-
-        if (blockType == BLOCK_CHOCO) {
-            Image image = new Image("choco.jpg");
-            ImagePattern pattern = new ImagePattern(image);
-            rect.setFill(pattern);
-        } else if (blockType == BLOCK_HEART) {
-            Image image = new Image("heart.jpg");
-            ImagePattern pattern = new ImagePattern(image);
-            rect.setFill(pattern);
-        } else if (blockType == BLOCK_STAR) {
-            Image image = new Image("star.jpg");
-            ImagePattern pattern = new ImagePattern(image);
-            rect.setFill(pattern);
-        } else {
-            rect.setFill(blockColor);
-        }
     }
 
     /**
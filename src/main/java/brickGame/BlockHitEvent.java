@@ -0,0 +1,73 @@
+package brickGame;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The {@code BlockHitEvent} class is the JDK Flight Recorder event of a block destroyed by the ball,
+ * covering the work {@link Main} does to show it.
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>
+ * {@code
+ * BlockHitEvent event = new BlockHitEvent();
+ * event.begin();
+ * boardRenderer.markDirty(cell);
+ * if (event.shouldCommit()) {
+ *     event.level = state.level;
+ *     event.commit();
+ * }
+ * }
+ * </pre>
+ */
+@Name("brickGame.BlockHit")
+@Label("Block Hit")
+@Category({"Brick Game", "Simulation"})
+@Description("A block destroyed by the ball")
+@StackTrace(false)
+public class BlockHitEvent extends jdk.jfr.Event {
+    @Label("Level")
+    public int level;
+    @Label("Row")
+    public int row;
+    @Label("Column")
+    public int column;
+    /**
+     * The type of the block, one of the {@code Block.BLOCK_*} constants.
+     */
+    @Label("Block Type")
+    public int type;
+    /**
+     * The face of the block the ball hit: {@code "right"}, {@code "bottom"}, {@code "left"} or {@code "top"}.
+     */
+    @Label("Hit Face")
+    public String face;
+    /**
+     * The number of blocks left on the board after this one.
+     */
+    @Label("Remaining Blocks")
+    public int remainingBlocks;
+
+    /**
+     * Gets the name of the face of a block the ball hit.
+     *
+     * @param hitCode One of the {@code Block.HIT_*} constants.
+     * @return The name of the face.
+     */
+    static String faceOf(int hitCode) {
+        if (hitCode == Block.HIT_RIGHT) {
+            return "right";
+        } else if (hitCode == Block.HIT_BOTTOM) {
+            return "bottom";
+        } else if (hitCode == Block.HIT_LEFT) {
+            return "left";
+        } else if (hitCode == Block.HIT_TOP) {
+            return "top";
+        }
+        return "none";
+    }
+}
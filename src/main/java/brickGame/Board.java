@@ -0,0 +1,334 @@
+package brickGame;
+
+import java.util.BitSet;
+
+/**
+ * The {@code Board} class stores the blocks of a level as a structure of arrays over its grid cells.
+ * <p>
+ * Each cell of the {@code rows} by {@code columns} grid is identified by its index
+ * {@code row * columns + column}. The block type, color index and hit count of every cell live in
+ * primitive byte arrays, and a {@link BitSet} marks the cells whose block is still standing. Block
+ * geometry is shared: a cell's bounds follow from its row and column and the {@link Block} lattice
+ * constants. The number of standing blocks is tracked as blocks are placed and destroyed, so
+ * checking whether the level is cleared costs nothing.
+ * </p>
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>
+ * {@code
+ * Board board = new Board(rows, 4);
+ * board.place(row, column, Block.BLOCK_NORMAL, colorIndex);
+ * for (int cell = board.nextLive(0); cell >= 0; cell = board.nextLive(cell + 1)) {
+ *     System.out.println(board.getX(cell) + ", " + board.getY(cell));
+ * }
+ * }
+ * </pre>
+ */
+public class Board {
+    /**
+     * The number of rows in the grid.
+     */
+    private final int rows;
+    /**
+     * The number of columns in the grid.
+     */
+    private final int columns;
+    /**
+     * The type of the block in each cell, stored as {@code type - Block.BLOCK_NORMAL}.
+     */
+    private final byte[] types;
+    /**
+     * The color index of the block in each cell.
+     */
+    private final byte[] colors;
+    /**
+     * The number of times the block in each cell has been hit.
+     */
+    private final byte[] hits;
+    /**
+     * The cells whose block is still standing.
+     */
+    private final BitSet live;
+    /**
+     * The number of blocks ever placed on the board.
+     */
+    private int blockCount;
+    /**
+     * The number of blocks still standing.
+     */
+    private int remainingCount;
+
+    /**
+     * Constructs an empty {@code Board} with the given grid size.
+     *
+     * @param rows    The number of rows.
+     * @param columns The number of columns.
+     *                <p>
+     *                Example usage:
+     *                </p>
+     *                <pre>
+     *                {@code
+     *                Board board = new Board(level + GameSimulation.DIFF_LEVEL, 4);
+     *                }
+     *                </pre>
+     */
+    public Board(int rows, int columns) {
+        this.rows = rows;
+        this.columns = columns;
+        int cells = rows * columns;
+        this.types = new byte[cells];
+        this.colors = new byte[cells];
+        this.hits = new byte[cells];
+        this.live = new BitSet(cells);
+    }
+
+    /**
+     * Places a standing block in a cell.
+     *
+     * @param row        The row of the cell.
+     * @param column     The column of the cell.
+     * @param type       The type of the block, one of the {@code Block.BLOCK_*} constants.
+     * @param colorIndex The index of the block's color in the renderer's palette.
+     * @return The index of the cell.
+     */
+    public int place(int row, int column, int type, int colorIndex) {
+        int cell = cellOf(row, column);
+        types[cell] = (byte) (type - Block.BLOCK_NORMAL);
+        colors[cell] = (byte) colorIndex;
+        hits[cell] = 0;
+        if (!live.get(cell)) {
+            live.set(cell);
+            blockCount++;
+            remainingCount++;
+        }
+        return cell;
+    }
+
+    /**
+     * Records a hit on the block in a cell and removes it from the board.
+     *
+     * @param cell The index of the cell.
+     */
+    public void destroy(int cell) {
+        if (hits[cell] < Byte.MAX_VALUE) {
+            hits[cell]++;
+        }
+        if (live.get(cell)) {
+            live.clear(cell);
+            remainingCount--;
+        }
+    }
+
+    /**
+     * Gets the number of rows in the grid.
+     *
+     * @return The row count.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets the number of columns in the grid.
+     *
+     * @return The column count.
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Gets the number of cells in the grid; cell indexes are below this value.
+     *
+     * @return The cell count.
+     */
+    public int getCellCount() {
+        return types.length;
+    }
+
+    /**
+     * Gets the number of blocks ever placed on the board.
+     *
+     * @return The block count.
+     */
+    public int getBlockCount() {
+        return blockCount;
+    }
+
+    /**
+     * Gets the number of blocks still standing.
+     *
+     * @return The remaining count; 0 once the level is cleared.
+     */
+    public int getRemainingCount() {
+        return remainingCount;
+    }
+
+    /**
+     * Gets the index of the cell at the given row and column.
+     *
+     * @param row    The row of the cell.
+     * @param column The column of the cell.
+     * @return The index of the cell.
+     */
+    public int cellOf(int row, int column) {
+        return row * columns + column;
+    }
+
+    /**
+     * Gets the row of a cell.
+     *
+     * @param cell The index of the cell.
+     * @return The row of the cell.
+     */
+    public int getRow(int cell) {
+        return cell / columns;
+    }
+
+    /**
+     * Gets the column of a cell.
+     *
+     * @param cell The index of the cell.
+     * @return The column of the cell.
+     */
+    public int getColumn(int cell) {
+        return cell % columns;
+    }
+
+    /**
+     * Gets the x-coordinate of the left edge of a cell.
+     *
+     * @param cell The index of the cell.
+     * @return The x-coordinate of the cell.
+     */
+    public int getX(int cell) {
+        return getColumn(cell) * Block.getWidth() + Block.getPaddingH();
+    }
+
+    /**
+     * Gets the y-coordinate of the top edge of a cell.
+     *
+     * @param cell The index of the cell.
+     * @return The y-coordinate of the cell.
+     */
+    public int getY(int cell) {
+        return getRow(cell) * Block.getHeight() + Block.getPaddingTop();
+    }
+
+    /**
+     * Checks whether the block in a cell is still standing.
+     *
+     * @param cell The index of the cell.
+     * @return {@code true} if the cell holds a standing block.
+     */
+    public boolean isLive(int cell) {
+        return live.get(cell);
+    }
+
+    /**
+     * Finds the next cell holding a standing block.
+     *
+     * @param fromCell The index of the first cell to check.
+     * @return The index of the next live cell at or after {@code fromCell}, or -1 if there is none.
+     */
+    public int nextLive(int fromCell) {
+        return live.nextSetBit(fromCell);
+    }
+
+    /**
+     * Gets the type of the block in a cell.
+     *
+     * @param cell The index of the cell.
+     * @return The type of the block, one of the {@code Block.BLOCK_*} constants.
+     */
+    public int getType(int cell) {
+        return types[cell] + Block.BLOCK_NORMAL;
+    }
+
+    /**
+     * Gets the color index of the block in a cell.
+     *
+     * @param cell The index of the cell.
+     * @return The index of the block's color in the renderer's palette.
+     */
+    public int getColor(int cell) {
+        return colors[cell];
+    }
+
+    /**
+     * Gets the number of times the block in a cell has been hit.
+     *
+     * @param cell The index of the cell.
+     * @return The hit count.
+     */
+    public int getHits(int cell) {
+        return hits[cell];
+    }
+
+    /**
+     * Gets the first column whose bounds reach {@code minX} or further right.
+     * Block bounds are closed intervals, so a coordinate exactly on an edge belongs to both cells.
+     *
+     * @param minX The left edge of a range.
+     * @return The first column of the range, clamped to the grid.
+     */
+    public int firstColumn(double minX) {
+        return Math.max(0, (int) Math.ceil((minX - Block.getPaddingH()) / Block.getWidth()) - 1);
+    }
+
+    /**
+     * Gets the last column whose bounds reach {@code maxX} or further left.
+     *
+     * @param maxX The right edge of a range.
+     * @return The last column of the range, clamped to the grid.
+     */
+    public int lastColumn(double maxX) {
+        return Math.min(columns - 1, (int) Math.floor((maxX - Block.getPaddingH()) / Block.getWidth()));
+    }
+
+    /**
+     * Gets the first row whose bounds reach {@code minY} or further down.
+     *
+     * @param minY The top edge of a range.
+     * @return The first row of the range, clamped to the grid.
+     */
+    public int firstRow(double minY) {
+        return Math.max(0, (int) Math.ceil((minY - Block.getPaddingTop()) / Block.getHeight()) - 1);
+    }
+
+    /**
+     * Gets the last row whose bounds reach {@code maxY} or further up.
+     *
+     * @param maxY The bottom edge of a range.
+     * @return The last row of the range, clamped to the grid.
+     */
+    public int lastRow(double maxY) {
+        return Math.min(rows - 1, (int) Math.floor((maxY - Block.getPaddingTop()) / Block.getHeight()));
+    }
+
+    /**
+     * Collects the live cells whose bounds overlap the given axis-aligned box.
+     *
+     * @param minX The left edge of the box.
+     * @param minY The top edge of the box.
+     * @param maxX The right edge of the box.
+     * @param maxY The bottom edge of the box.
+     * @param out  The array that receives the cell indexes; cells beyond its length are dropped.
+     * @return The number of cells written to {@code out}.
+     */
+    public int query(double minX, double minY, double maxX, double maxY, int[] out) {
+        int count = 0;
+        int lastColumn = lastColumn(maxX);
+        int lastRow = lastRow(maxY);
+        for (int row = firstRow(minY); row <= lastRow; row++) {
+            for (int column = firstColumn(minX); column <= lastColumn; column++) {
+                int cell = row * columns + column;
+                if (live.get(cell) && count < out.length) {
+                    out[count++] = cell;
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,250 @@
+package brickGame;
+
+import javafx.scene.Node;
+import javafx.scene.paint.Color;
+
+import java.util.BitSet;
+
+/**
+ * The {@code BoardRenderer} class draws the blocks of a {@link Board} and keeps the drawing in
+ * step with the blocks the simulation destroys.
+ * <p>
+ * Cells whose block was destroyed are marked dirty from the simulation thread with {@link #markDirty(int)};
+ * {@link #render()} runs on the JavaFX application thread and repaints only the cells marked since
+ * the previous frame. The drawing of a new board can be built ahead of time on any thread with
+ * {@link #prepare(Board)}, as long as it is not shown yet, and then shown at once with
+ * {@link #setDrawing(Drawing)}. Two implementations exist: {@link NodeBoardRenderer} keeps one
+ * {@code Rectangle} per block in the scene graph, and {@link CanvasBoardRenderer} paints the whole
+ * board onto a single {@code Canvas}. {@link #create(Color[])} picks one from the
+ * {@value #RENDERER_PROPERTY} system property, so the renderer can be switched at startup with
+ * {@code -Dbrick.renderer=canvas}.
+ * </p>
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>
+ * {@code
+ * BoardRenderer renderer = BoardRenderer.create(colors);
+ * renderer.setBoard(state.board);
+ * root.getChildren().add(renderer.getNode());
+ * renderer.markDirty(cell);
+ * renderer.render();
+ * }
+ * </pre>
+ */
+public abstract class BoardRenderer {
+    /**
+     * The system property selecting the renderer, either {@code "nodes"} (the default) or {@code "canvas"}.
+     */
+    public static final String RENDERER_PROPERTY = "brick.renderer";
+
+    /**
+     * The block colors, indexed by {@link Board#getColor(int)}.
+     */
+    protected final Color[] palette;
+    /**
+     * The board currently drawn.
+     */
+    protected Board board = new Board(0, 0);
+    /**
+     * The cells changed since the last frame. Guarded by its own monitor.
+     */
+    private final BitSet dirty = new BitSet();
+    /**
+     * The dirty cells taken by the frame being rendered; only used on the JavaFX application thread.
+     */
+    private final BitSet repainting = new BitSet();
+
+    private long frameCount;
+    private long totalRenderNanos;
+    private long maxRenderNanos;
+    private volatile long lastRenderNanos;
+
+    /**
+     * The drawing of a board, built by {@link #prepare(Board)} and not attached to any scene
+     * until it is shown by {@link #setDrawing(Drawing)}.
+     */
+    public abstract static class Drawing {
+        /**
+         * The board drawn.
+         */
+        public final Board board;
+
+        /**
+         * Constructs a {@code Drawing} of a board.
+         *
+         * @param board The board drawn.
+         */
+        protected Drawing(Board board) {
+            this.board = board;
+        }
+    }
+
+    /**
+     * Constructs a {@code BoardRenderer} that draws normal blocks with the given colors.
+     *
+     * @param palette The block colors, indexed by {@link Board#getColor(int)}.
+     */
+    protected BoardRenderer(Color[] palette) {
+        this.palette = palette;
+    }
+
+    /**
+     * Creates the renderer chosen by the {@value #RENDERER_PROPERTY} system property.
+     *
+     * @param palette The block colors, indexed by {@link Board#getColor(int)}.
+     * @return A {@link CanvasBoardRenderer} if the property is {@code "canvas"}, otherwise a
+     * {@link NodeBoardRenderer}.
+     */
+    public static BoardRenderer create(Color[] palette) {
+        if ("canvas".equalsIgnoreCase(System.getProperty(RENDERER_PROPERTY))) {
+            return new CanvasBoardRenderer(palette);
+        }
+        return new NodeBoardRenderer(palette);
+    }
+
+    /**
+     * Draws a new board from scratch, discarding any pending dirty cells. Call this on the JavaFX
+     * application thread.
+     *
+     * @param board The board to draw.
+     */
+    public void setBoard(Board board) {
+        setDrawing(prepare(board));
+    }
+
+    /**
+     * Builds the drawing of every live cell of a board without showing it. Can be called from any
+     * thread; the board must not change until the drawing is shown.
+     *
+     * @param board The board to draw.
+     * @return The drawing, to show with {@link #setDrawing(Drawing)}.
+     */
+    public Drawing prepare(Board board) {
+        return draw(board);
+    }
+
+    /**
+     * Shows a drawing made by {@link #prepare(Board)} of this renderer in place of the current
+     * board, discarding any pending dirty cells. Call this on the JavaFX application thread.
+     *
+     * @param drawing The drawing to show.
+     */
+    public void setDrawing(Drawing drawing) {
+        synchronized (dirty) {
+            dirty.clear();
+        }
+        this.board = drawing.board;
+        show(drawing);
+    }
+
+    /**
+     * Marks a cell whose block changed, typically because it was destroyed, for repainting on the
+     * next frame. Can be called from any thread.
+     *
+     * @param cell The board cell that changed.
+     */
+    public void markDirty(int cell) {
+        synchronized (dirty) {
+            dirty.set(cell);
+        }
+    }
+
+    /**
+     * Repaints the cells marked since the last frame. Call this on the JavaFX application thread.
+     */
+    public void render() {
+        synchronized (dirty) {
+            if (dirty.isEmpty()) {
+                return;
+            }
+            repainting.clear();
+            repainting.or(dirty);
+            dirty.clear();
+        }
+
+        long start = System.nanoTime();
+        for (int cell = repainting.nextSetBit(0); cell >= 0; cell = repainting.nextSetBit(cell + 1)) {
+            repaint(cell);
+        }
+        long nanos = System.nanoTime() - start;
+
+        frameCount++;
+        totalRenderNanos += nanos;
+        maxRenderNanos = Math.max(maxRenderNanos, nanos);
+        lastRenderNanos = nanos;
+    }
+
+    /**
+     * Gets the node that shows the board.
+     *
+     * @return The node to add to the scene.
+     */
+    public abstract Node getNode();
+
+    /**
+     * Builds the drawing of every live cell of a new board, off the scene graph.
+     *
+     * @param board The board to draw.
+     * @return The drawing.
+     */
+    protected abstract Drawing draw(Board board);
+
+    /**
+     * Replaces the drawing shown by the node of this renderer.
+     *
+     * @param drawing A drawing made by {@link #draw(Board)}.
+     */
+    protected abstract void show(Drawing drawing);
+
+    /**
+     * Repaints one dirty cell from the current state of the board.
+     *
+     * @param cell The index of the cell.
+     */
+    protected abstract void repaint(int cell);
+
+    /**
+     * Gets the image drawn for a block of the given type.
+     *
+     * @param type The type of the block, one of the {@code Block.BLOCK_*} constants.
+     * @return The resource name of the image, or {@code null} if the block is drawn with its palette color.
+     */
+    protected static String imageOf(int type) {
+        if (type == Block.BLOCK_CHOCO) {
+            return "choco.jpg";
+        } else if (type == Block.BLOCK_HEART) {
+            return "heart.jpg";
+        } else if (type == Block.BLOCK_STAR) {
+            return "star.jpg";
+        }
+        return null;
+    }
+
+    /**
+     * Gets the duration of the last frame that had cells to repaint.
+     *
+     * @return The last repaint time in nanoseconds.
+     */
+    public long getLastRenderNanos() {
+        return lastRenderNanos;
+    }
+
+    /**
+     * Gets the mean duration of a frame that had cells to repaint.
+     *
+     * @return The mean repaint time in nanoseconds, or 0 if nothing was repainted yet.
+     */
+    public long getMeanRenderNanos() {
+        return frameCount == 0 ? 0 : totalRenderNanos / frameCount;
+    }
+
+    /**
+     * Gets the longest duration of a frame that had cells to repaint.
+     *
+     * @return The maximum repaint time in nanoseconds.
+     */
+    public long getMaxRenderNanos() {
+        return maxRenderNanos;
+    }
+}
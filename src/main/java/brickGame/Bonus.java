@@ -1,14 +1,10 @@
 package brickGame;
 
-import javafx.scene.image.Image;
-import javafx.scene.paint.ImagePattern;
-import javafx.scene.shape.Rectangle;
-
 import java.io.Serializable;
-import java.util.Random;
 
 /**
  * The {@code Bonus} class represents a bonus object in the game.
+ * It only carries the simulation state of the bonus; the renderer draws it from its position and variant.
  * <p>
  * <b>HTML Note:</b> The HTML tags can be used for formatting purposes in the generated Javadocs.
  * </p>
@@ -17,16 +13,22 @@ import java.util.Random;
  * </p>
  * <pre>
  * {@code
- * Bonus bonus = new Bonus(row, column);
+ * Bonus bonus = new Bonus(row, column, variant);
+ * bonus.reset(otherRow, otherColumn, otherVariant);
  * }
  * </pre>
  */
 public class Bonus implements Serializable {
 
     /**
-     * The instance of the block.
+     * The width and height of a bonus item.
+     */
+    public static final int SIZE = 30;
+
+    /**
+     * Which of the bonus images is used to draw the item, either 0 or 1.
      */
-    public Rectangle choco;
+    public int variant;
 
     /**
      * The x-coordinate of the bonus item.
@@ -50,55 +52,41 @@ public class Bonus implements Serializable {
     /**
      * Constructs a {@code Bonus} object at the specified row and column.
      *
-     * @param row    The row at which the bonus is located.
-     * @param column The column at which the bonus is located.
-     *               <p>
-     *               Example usage:
-     *               </p>
-     *               <pre>
-     *               {@code
-     *               Bonus bonus = new Bonus(row, column);
-     *               }
-     *               </pre>
+     * @param row     The row at which the bonus is located.
+     * @param column  The column at which the bonus is located.
+     * @param variant Which of the bonus images is used to draw the item, either 0 or 1.
+     *                <p>
+     *                Example usage:
+     *                </p>
+     *                <pre>
+     *                {@code
+     *                Bonus bonus = new Bonus(row, column, variant);
+     *                }
+     *                </pre>
      */
-    public Bonus(int row, int column) {
-        x = (column * (Block.getWidth())) + Block.getPaddingH() + (Block.getWidth() / 2) - 15;
-        y = (row * (Block.getHeight())) + Block.getPaddingTop() + (Block.getHeight() / 2) - 15;
-
-        draw();
+    public Bonus(int row, int column, int variant) {
+        reset(row, column, variant);
     }
 
     /**
-     * Draws the choco bonus object on the game screen.
-     * The method initializes and configures a Rectangle representing the choco bonus,
-     * sets its width, height, position (x, y), and fills it with an image pattern.
-     * The image used for the pattern is randomly chosen between "bonus1.png" and "bonus2.png"
-     * based on a random number generator.
-     * <p>
-     * Example usage:
-     * <pre>
-     * {@code
-     * draw();
-     * }
-     * </pre>
-     * </p>
+     * Constructs an empty {@code Bonus} for an {@link EntityPool}; call {@link #reset(int, int, int)}
+     * before using it.
      */
-    private void draw() {
-        choco = new Rectangle();
-        choco.setWidth(30);
-        choco.setHeight(30);
-        choco.setX(x);
-        choco.setY(y);
-
-        String url;
-        if (new Random().nextInt(20) % 2 == 0) {
-            url = "bonus1.png";
-        } else {
-            url = "bonus2.png";
-        }
-
-        choco.setFill(new ImagePattern(new Image(url)));
+    public Bonus() {
     }
 
-
+    /**
+     * Places a recycled bonus at the specified row and column, as if it had just been constructed.
+     *
+     * @param row     The row at which the bonus is located.
+     * @param column  The column at which the bonus is located.
+     * @param variant Which of the bonus images is used to draw the item, either 0 or 1.
+     */
+    public void reset(int row, int column, int variant) {
+        x = (column * (Block.getWidth())) + Block.getPaddingH() + (Block.getWidth() / 2) - 15;
+        y = (row * (Block.getHeight())) + Block.getPaddingTop() + (Block.getHeight() / 2) - 15;
+        this.variant = variant;
+        timeCreated = 0;
+        taken = false;
+    }
 }
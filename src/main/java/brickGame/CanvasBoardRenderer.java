@@ -0,0 +1,109 @@
+package brickGame;
+
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+
+/**
+ * The {@code CanvasBoardRenderer} class paints the whole board onto a single {@link Canvas}.
+ * <p>
+ * The scene graph holds one node for the board however many blocks it has. A new board is painted
+ * once; afterwards only the cells marked dirty are cleared or repainted, so a frame costs a few
+ * small rectangle operations instead of a traversal of every block node. Cleared cells are
+ * transparent, so the background of the scene shows through. A board prepared ahead of time is
+ * painted on a canvas of its own, which replaces the current one when it is shown.
+ * </p>
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>
+ * {@code
+ * System.setProperty(BoardRenderer.RENDERER_PROPERTY, "canvas");
+ * BoardRenderer renderer = BoardRenderer.create(colors);
+ * }
+ * </pre>
+ */
+public class CanvasBoardRenderer extends BoardRenderer {
+    /**
+     * The group holding the canvas of the current board.
+     */
+    private final Group holder = new Group();
+    /**
+     * The canvas the board is painted on.
+     */
+    private Canvas canvas = new Canvas();
+
+    /**
+     * Constructs a {@code CanvasBoardRenderer}.
+     *
+     * @param palette The block colors, indexed by {@link Board#getColor(int)}.
+     */
+    public CanvasBoardRenderer(Color[] palette) {
+        super(palette);
+        // The canvas only covers the board, so clicks and keys reach the nodes around it
+        holder.setMouseTransparent(true);
+        holder.getChildren().add(canvas);
+    }
+
+    /**
+     * A board painted on a canvas that is not shown yet.
+     */
+    private static class CanvasDrawing extends Drawing {
+        private final Canvas canvas;
+
+        private CanvasDrawing(Board board, Canvas canvas) {
+            super(board);
+            this.canvas = canvas;
+        }
+    }
+
+    @Override
+    public Node getNode() {
+        return holder;
+    }
+
+    @Override
+    protected Drawing draw(Board board) {
+        // Cells below the scene are never seen, so don't allocate a texture for them
+        Canvas next = new Canvas(
+                Math.min(GameSimulation.SCENE_WIDTH, Block.getPaddingH() + board.getColumns() * Block.getWidth()),
+                Math.min(GameSimulation.SCENE_HEIGHT, Block.getPaddingTop() + board.getRows() * Block.getHeight()));
+        GraphicsContext gc = next.getGraphicsContext2D();
+        for (int cell = board.nextLive(0); cell >= 0; cell = board.nextLive(cell + 1)) {
+            paint(gc, board, cell);
+        }
+        return new CanvasDrawing(board, next);
+    }
+
+    @Override
+    protected void show(Drawing drawing) {
+        canvas = ((CanvasDrawing) drawing).canvas;
+        holder.getChildren().setAll(canvas);
+    }
+
+    @Override
+    protected void repaint(int cell) {
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.clearRect(board.getX(cell), board.getY(cell), Block.getWidth(), Block.getHeight());
+        if (board.isLive(cell)) {
+            paint(gc, board, cell);
+        }
+    }
+
+    /**
+     * Paints the block in one cell of a board.
+     */
+    private void paint(GraphicsContext gc, Board board, int cell) {
+        int x = board.getX(cell);
+        int y = board.getY(cell);
+        String image = imageOf(board.getType(cell));
+        if (image != null) {
+            gc.drawImage(ImageCache.getImage(image), x, y, Block.getWidth(), Block.getHeight());
+        } else {
+            gc.setFill(palette[board.getColor(cell)]);
+            gc.fillRect(x, y, Block.getWidth(), Block.getHeight());
+        }
+    }
+}
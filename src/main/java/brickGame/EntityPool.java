@@ -0,0 +1,123 @@
+package brickGame;
+
+import java.util.ArrayDeque;
+import java.util.function.Supplier;
+
+/**
+ * The {@code EntityPool} class recycles short-lived game objects, such as falling bonuses and the
+ * nodes that draw them, instead of allocating a new one every time.
+ * <p>
+ * {@link #acquire()} hands out an idle instance, or creates one if none is idle; {@link #release(Object)}
+ * takes it back once it is no longer in use. The caller is responsible for resetting an acquired
+ * instance. At most {@code maxIdle} instances are kept idle; extra releases are left to the garbage
+ * collector. A pool is meant to be used from a single thread, but its counters can be read from any
+ * thread.
+ * </p>
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>
+ * {@code
+ * EntityPool<Bonus> pool = new EntityPool<Bonus>(Bonus::new, 64);
+ * Bonus bonus = pool.acquire();
+ * bonus.reset(row, column, variant);
+ * pool.release(bonus);
+ * }
+ * </pre>
+ *
+ * @param <T> The type of the pooled objects.
+ */
+public class EntityPool<T> {
+    /**
+     * Creates a new instance when no idle one is available.
+     */
+    private final Supplier<T> factory;
+    /**
+     * The maximum number of idle instances kept for reuse.
+     */
+    private final int maxIdle;
+    /**
+     * The idle instances waiting to be reused.
+     */
+    private final ArrayDeque<T> idle = new ArrayDeque<T>();
+
+    private volatile int liveCount;
+    private volatile int pooledCount;
+    private volatile long createdCount;
+
+    /**
+     * Constructs an empty {@code EntityPool}.
+     *
+     * @param factory Creates a new instance when no idle one is available.
+     * @param maxIdle The maximum number of idle instances kept for reuse.
+     *                <p>
+     *                Example usage:
+     *                </p>
+     *                <pre>
+     *                {@code
+     *                EntityPool<Rectangle> nodes = new EntityPool<Rectangle>(Rectangle::new, 32);
+     *                }
+     *                </pre>
+     */
+    public EntityPool(Supplier<T> factory, int maxIdle) {
+        this.factory = factory;
+        this.maxIdle = maxIdle;
+    }
+
+    /**
+     * Takes an idle instance from the pool, or creates a new one if the pool is empty.
+     *
+     * @return An instance that the caller must reset before use.
+     */
+    public T acquire() {
+        T entity = idle.pollFirst();
+        if (entity == null) {
+            entity = factory.get();
+            createdCount++;
+        } else {
+            pooledCount = idle.size();
+        }
+        liveCount++;
+        return entity;
+    }
+
+    /**
+     * Returns an instance to the pool. It must not be used by the caller afterwards.
+     *
+     * @param entity An instance obtained from {@link #acquire()}.
+     */
+    public void release(T entity) {
+        liveCount--;
+        if (idle.size() < maxIdle) {
+            idle.addFirst(entity);
+            pooledCount = idle.size();
+        }
+    }
+
+    /**
+     * Gets the number of instances acquired and not yet released.
+     *
+     * @return The live count.
+     */
+    public int getLiveCount() {
+        return liveCount;
+    }
+
+    /**
+     * Gets the number of idle instances waiting to be reused.
+     *
+     * @return The pooled count.
+     */
+    public int getPooledCount() {
+        return pooledCount;
+    }
+
+    /**
+     * Gets the number of instances this pool has ever created.
+     *
+     * @return The created count.
+     */
+    public long getCreatedCount() {
+        return createdCount;
+    }
+}
@@ -0,0 +1,191 @@
+package brickGame;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The {@code FrameHistogram} class records durations in nanoseconds into fixed log-linear buckets
+ * without locking.
+ * <p>
+ * Every power of two is split into {@value #SUB_BUCKETS} buckets, so a percentile is reported within
+ * about 12% of the true value while the whole range of a {@code long} fits in a few hundred counters.
+ * Recording is one atomic increment per counter and never allocates, so it can be called on every tick
+ * from the simulation thread while the JavaFX application thread reads percentiles for display.
+ * Durations longer than the budget given at construction are also counted as overruns.
+ * </p>
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>
+ * {@code
+ * FrameHistogram histogram = new FrameHistogram(8_333_333L);
+ * long start = System.nanoTime();
+ * simulation.step(input);
+ * histogram.record(System.nanoTime() - start);
+ * long p99 = histogram.getPercentile(0.99);
+ * }
+ * </pre>
+ */
+public class FrameHistogram {
+    /**
+     * The number of buckets each power of two is split into.
+     */
+    private static final int SUB_BUCKETS = 8;
+    /**
+     * The number of bits needed to index a sub-bucket.
+     */
+    private static final int SUB_BUCKET_BITS = 3;
+    /**
+     * The number of buckets needed to cover every non-negative {@code long}.
+     */
+    private static final int BUCKET_COUNT = indexOf(Long.MAX_VALUE) + 1;
+
+    /**
+     * The duration above which a recorded value counts as an overrun, in nanoseconds.
+     */
+    private final long budgetNanos;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final AtomicLong overruns = new AtomicLong();
+
+    /**
+     * Constructs an empty {@code FrameHistogram}.
+     *
+     * @param budgetNanos The duration above which a recorded value counts as an overrun.
+     *                    <p>
+     *                    Example usage:
+     *                    </p>
+     *                    <pre>
+     *                    {@code
+     *                    FrameHistogram tick = new FrameHistogram(1_000_000_000L / 120);
+     *                    }
+     *                    </pre>
+     */
+    public FrameHistogram(long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+    }
+
+    /**
+     * Records one duration.
+     *
+     * @param nanos The duration in nanoseconds; negative values are recorded as zero.
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        counts.incrementAndGet(indexOf(nanos));
+        count.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+        if (nanos > budgetNanos) {
+            overruns.incrementAndGet();
+        }
+    }
+
+    /**
+     * Gets a percentile of the recorded durations.
+     * <p>
+     * The result is the upper bound of the bucket holding the percentile, capped to the maximum
+     * recorded duration. Values recorded while the percentile is computed may or may not be included.
+     * </p>
+     *
+     * @param fraction The percentile as a fraction, for example {@code 0.99} for the 99th percentile.
+     * @return The percentile in nanoseconds, or 0 if nothing was recorded.
+     */
+    public long getPercentile(double fraction) {
+        long[] snapshot = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(fraction * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), maxNanos.get());
+            }
+        }
+        return maxNanos.get();
+    }
+
+    /**
+     * Gets the number of recorded durations.
+     *
+     * @return The count.
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Gets the mean of the recorded durations.
+     *
+     * @return The mean in nanoseconds, or 0 if nothing was recorded.
+     */
+    public long getMeanNanos() {
+        long n = count.get();
+        return n == 0 ? 0 : totalNanos.get() / n;
+    }
+
+    /**
+     * Gets the longest recorded duration.
+     *
+     * @return The maximum in nanoseconds.
+     */
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Gets the number of recorded durations longer than the budget.
+     *
+     * @return The overrun count.
+     */
+    public long getOverruns() {
+        return overruns.get();
+    }
+
+    /**
+     * Gets the duration above which a recorded value counts as an overrun.
+     *
+     * @return The budget in nanoseconds.
+     */
+    public long getBudgetNanos() {
+        return budgetNanos;
+    }
+
+    /**
+     * Gets the bucket of a duration: values below {@link #SUB_BUCKETS} have a bucket each, larger ones
+     * share a bucket with the values that have the same highest {@link #SUB_BUCKET_BITS} + 1 bits.
+     */
+    private static int indexOf(long nanos) {
+        if (nanos < SUB_BUCKETS) {
+            return (int) nanos;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        int sub = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Gets the largest duration that falls into a bucket.
+     */
+    private static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long sub = index % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return ((SUB_BUCKETS + sub) << (exponent - SUB_BUCKET_BITS)) + width - 1;
+    }
+}
@@ -0,0 +1,126 @@
+package brickGame;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The {@code FramePacer} class waits for tick deadlines more accurately than {@link Thread#sleep(long)}.
+ * <p>
+ * A parked thread is woken up late by however coarse the timer of the operating system is, from
+ * tens of microseconds on Linux to a millisecond or more on Windows. The pacer therefore parks
+ * with {@link LockSupport#parkNanos(Object, long)} only until a short spin window before the
+ * deadline, then spins on {@link Thread#onSpinWait()} for the rest. The window adapts to how late
+ * the parks actually wake up, within {@link #MIN_SPIN_NANOS} and {@link #MAX_SPIN_NANOS}, so the
+ * spin stays as short as the platform allows. How late each deadline was met is recorded in a
+ * {@link FrameHistogram}.
+ * </p>
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>
+ * {@code
+ * FramePacer pacer = new FramePacer(1_000_000_000L / 120);
+ * long deadline = System.nanoTime();
+ * while (pacer.awaitDeadline(deadline += 1_000_000_000L / 120)) {
+ *     simulation.step(input.poll());
+ * }
+ * }
+ * </pre>
+ */
+public class FramePacer {
+    /**
+     * The shortest spin window before a deadline.
+     */
+    public static final long MIN_SPIN_NANOS = 50_000L;
+    /**
+     * The longest spin window before a deadline.
+     */
+    public static final long MAX_SPIN_NANOS = 2_000_000L;
+
+    /**
+     * The current spin window, adapted to the lateness of the parks by the waiting thread.
+     */
+    private volatile long spinNanos = 4 * MIN_SPIN_NANOS;
+    /**
+     * How late the deadlines were met, budgeted to one tick.
+     */
+    private final FrameHistogram lateness;
+
+    /**
+     * Constructs a {@code FramePacer}.
+     *
+     * @param tickNanos The length of a tick; a deadline met later than this counts as an overrun.
+     *                  <p>
+     *                  Example usage:
+     *                  </p>
+     *                  <pre>
+     *                  {@code
+     *                  FramePacer pacer = new FramePacer(1_000_000_000L / 120);
+     *                  }
+     *                  </pre>
+     */
+    public FramePacer(long tickNanos) {
+        lateness = new FrameHistogram(tickNanos);
+    }
+
+    /**
+     * Waits until a deadline, parking for most of the wait and spinning for the end of it.
+     * Returns at once if the deadline has passed.
+     *
+     * @param deadlineNanos The {@link System#nanoTime()} to wait for.
+     * @return {@code true} if the deadline was reached, {@code false} if the thread was interrupted first.
+     */
+    public boolean awaitDeadline(long deadlineNanos) {
+        while (true) {
+            long remaining = deadlineNanos - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+            if (remaining > spinNanos) {
+                long park = remaining - spinNanos;
+                long parkStart = System.nanoTime();
+                LockSupport.parkNanos(this, park);
+                long overshoot = System.nanoTime() - parkStart - park;
+                if (overshoot > 0) {
+                    // Aim for twice the typical overshoot, moving an eighth of the way each park
+                    long spin = spinNanos + (2 * overshoot - spinNanos) / 8;
+                    spinNanos = Math.max(MIN_SPIN_NANOS, Math.min(MAX_SPIN_NANOS, spin));
+                }
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+        lateness.record(System.nanoTime() - deadlineNanos);
+        return true;
+    }
+
+    /**
+     * Waits for a duration from now, like {@link #awaitDeadline(long)}.
+     *
+     * @param nanos The time to wait.
+     * @return {@code true} if the time has passed, {@code false} if the thread was interrupted first.
+     */
+    public boolean await(long nanos) {
+        return awaitDeadline(System.nanoTime() + nanos);
+    }
+
+    /**
+     * Gets the current spin window.
+     *
+     * @return The spin window in nanoseconds.
+     */
+    public long getSpinNanos() {
+        return spinNanos;
+    }
+
+    /**
+     * Gets the histogram of how late the deadlines were met.
+     *
+     * @return The lateness histogram.
+     */
+    public FrameHistogram getLateness() {
+        return lateness;
+    }
+}
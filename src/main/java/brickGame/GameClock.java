@@ -0,0 +1,142 @@
+package brickGame;
+
+/**
+ * The {@code GameClock} class measures the time a game has been running, from
+ * {@link System#nanoTime()}, leaving out the time it spent paused.
+ * <p>
+ * {@code System.nanoTime()} is monotonic and has sub-microsecond resolution on every platform, so
+ * unlike a counter bumped by a sleeping thread the clock neither drifts with the timer resolution
+ * of the operating system nor costs a thread. While the clock is paused its elapsed time stands
+ * still, so a game resumed after a pause carries on where it stopped instead of trying to catch
+ * up on the pause.
+ * </p>
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>
+ * {@code
+ * GameClock clock = new GameClock();
+ * clock.pause();
+ * clock.resume();
+ * long millis = clock.elapsedMillis();
+ * }
+ * </pre>
+ */
+public class GameClock {
+    /**
+     * The {@code System.nanoTime()} at which the clock was started or last reset.
+     */
+    private long originNanos;
+    /**
+     * The total time spent paused since the clock was started, not counting the current pause.
+     */
+    private long pausedNanos;
+    /**
+     * The {@code System.nanoTime()} at which the current pause started.
+     */
+    private long pauseStartNanos;
+    private boolean paused;
+    private long pauseCount;
+
+    /**
+     * Constructs a running {@code GameClock} starting at zero.
+     * <p>
+     * Example usage:
+     * </p>
+     * <pre>
+     * {@code
+     * GameClock clock = new GameClock();
+     * }
+     * </pre>
+     */
+    public GameClock() {
+        reset();
+    }
+
+    /**
+     * Restarts the clock from zero, running.
+     */
+    public synchronized void reset() {
+        originNanos = System.nanoTime();
+        pausedNanos = 0;
+        paused = false;
+    }
+
+    /**
+     * Stops the elapsed time until {@link #resume()}. Does nothing if the clock is already paused.
+     */
+    public synchronized void pause() {
+        if (!paused) {
+            paused = true;
+            pauseStartNanos = System.nanoTime();
+            pauseCount++;
+        }
+    }
+
+    /**
+     * Lets the elapsed time run again from where it was paused. Does nothing if the clock is running.
+     */
+    public synchronized void resume() {
+        if (paused) {
+            pausedNanos += System.nanoTime() - pauseStartNanos;
+            paused = false;
+        }
+    }
+
+    /**
+     * Checks whether the clock is paused.
+     *
+     * @return {@code true} between {@link #pause()} and {@link #resume()}.
+     */
+    public synchronized boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Gets the time the clock has been running since it was started or reset, without the pauses.
+     *
+     * @return The elapsed time in nanoseconds.
+     */
+    public synchronized long elapsedNanos() {
+        long end = paused ? pauseStartNanos : System.nanoTime();
+        return end - originNanos - pausedNanos;
+    }
+
+    /**
+     * Gets the time the clock has been running since it was started or reset, without the pauses.
+     *
+     * @return The elapsed time in milliseconds.
+     */
+    public long elapsedMillis() {
+        return elapsedNanos() / 1_000_000L;
+    }
+
+    /**
+     * Converts an elapsed time of this clock into the {@code System.nanoTime()} at which it will be
+     * reached if the clock is not paused before then, for example to wait for it with a {@link FramePacer}.
+     *
+     * @param elapsedNanos The elapsed time.
+     * @return The matching {@code System.nanoTime()}.
+     */
+    public synchronized long toSystemNanos(long elapsedNanos) {
+        return originNanos + pausedNanos + elapsedNanos;
+    }
+
+    /**
+     * Gets the total time the clock spent paused, including the current pause.
+     *
+     * @return The paused time in nanoseconds.
+     */
+    public synchronized long getPausedNanos() {
+        return pausedNanos + (paused ? System.nanoTime() - pauseStartNanos : 0);
+    }
+
+    /**
+     * Gets the number of times the clock was paused.
+     *
+     * @return The pause count.
+     */
+    public synchronized long getPauseCount() {
+        return pauseCount;
+    }
+}
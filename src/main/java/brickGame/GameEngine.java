@@ -1,5 +1,7 @@
 package brickGame;
 
+import java.util.concurrent.locks.LockSupport;
+
 /**
  * The {@code GameEngine} class represents the game engine responsible for managing game updates,
  * physics calculations, and time tracking.
@@ -12,9 +14,23 @@ package brickGame;
  * GameEngine engine = new GameEngine();
  * engine.setOnAction(onActionImplementation);
  * engine.setFps(60);
+ * engine.setFixedStep(true);
  * engine.start();
  * }
  * </pre>
+ * <p>
+ * By default the engine runs the legacy mode of two sleeping threads (update and physics).
+ * In fixed-step mode a single simulation thread advances the game in fixed increments of
+ * {@code 1 / fps} seconds, calling {@code onTime}, {@code onPhysicsUpdate} and {@code onUpdate}
+ * in that order for every step. In both modes time is measured by a {@link GameClock}, and the
+ * fixed-step thread waits for its next step with a {@link FramePacer}.
+ * </p>
+ * <p>
+ * An engine is meant to live as long as the game. Its threads are created by the first
+ * {@link #start()} and only end with {@link #stop()}; in between, {@link #pause()} parks them
+ * between two steps and freezes the clock, {@link #resume()} lets them carry on from there, and
+ * {@link #reset()} pauses the engine with its time back at zero, ready for a new level.
+ * </p>
  */
 public class GameEngine {
 
@@ -22,13 +38,56 @@ public class GameEngine {
      * The default frames per second (FPS) value.
      */
     private final int DEFAULT_FPS = 15;
+    /**
+     * The longest wall-clock frame, in nanoseconds, that the fixed-step loop will try to catch up on.
+     * Anything longer (a debugger pause, a suspended laptop) is clamped to this value.
+     */
+    private static final long MAX_FRAME_NANOS = 250_000_000L;
+    /**
+     * The maximum number of simulation steps run back to back before the loop gives up catching up.
+     */
+    private static final int MAX_STEPS_PER_FRAME = 5;
+    /**
+     * How long {@link #stop()} and {@link #pause()} wait for the simulation thread to finish its step.
+     */
+    private static final long STOP_TIMEOUT_MILLIS = 1000;
     private OnAction onAction;
     private int fps = 1000 / DEFAULT_FPS;
+    private long stepNanos = 1_000_000_000L / DEFAULT_FPS;
+    private boolean fixedStep = false;
     private volatile boolean isStopped = true;
+    /**
+     * Set while the engine is paused; its threads park between two steps until it is cleared.
+     */
+    private volatile boolean paused = false;
+    /**
+     * Set by the simulation thread while it is parked by a pause.
+     */
+    private volatile boolean parked = false;
+    /**
+     * Set by {@link #reset()}; the simulation thread restarts its time from zero when it resumes.
+     */
+    private volatile boolean resetRequested = false;
+    /**
+     * The thread waiting in {@link #pause()} for the simulation thread to park, if any.
+     */
+    private volatile Thread pausing;
     private Thread updateThread;
     private Thread physicsThread;
-    private Thread timeThread;
+    private Thread simulationThread;
     private long time = 0;
+    /**
+     * Measures the time since the engine was started.
+     */
+    private final GameClock clock = new GameClock();
+    /**
+     * Waits for the deadline of the next fixed step.
+     */
+    private FramePacer pacer = new FramePacer(stepNanos);
+    /**
+     * The number of simulation steps discarded by the spiral-of-death protection.
+     */
+    private volatile long droppedSteps = 0;
 
     /**
      * Sets the action handler for the game engine.
@@ -46,17 +105,59 @@ public class GameEngine {
      */
     public void setFps(int fps) {
         this.fps = 1000 / fps;
+        this.stepNanos = 1_000_000_000L / fps;
+    }
+
+    /**
+     * Selects between the legacy three-thread mode and the single-threaded fixed-step mode.
+     * Must be called before {@link #start()}.
+     *
+     * @param fixedStep {@code true} to run every update on one simulation thread with a fixed time step.
+     */
+    public void setFixedStep(boolean fixedStep) {
+        this.fixedStep = fixedStep;
+    }
+
+    /**
+     * Gets the number of simulation steps that were dropped because the fixed-step loop fell
+     * too far behind real time.
+     *
+     * @return The number of dropped steps since the engine was started.
+     */
+    public long getDroppedSteps() {
+        return droppedSteps;
+    }
+
+    /**
+     * Gets the clock measuring the time since the engine was started.
+     *
+     * @return The clock.
+     */
+    public GameClock getClock() {
+        return clock;
+    }
+
+    /**
+     * Gets the pacer timing the fixed steps, whose histogram shows how late the steps started.
+     *
+     * @return The pacer.
+     */
+    public FramePacer getPacer() {
+        return pacer;
     }
 
     /**
-     * Starts a new thread for game updates. The {@code onUpdate} method of the assigned
-     * {@code OnAction} handler is called repeatedly with a delay determined by the frames
-     * per second (FPS) value.
+     * Starts a new thread for game updates. The {@code onTime} and {@code onUpdate} methods of the
+     * assigned {@code OnAction} handler are called repeatedly with a delay determined by the frames
+     * per second (FPS) value, {@code onTime} with the time read from the {@link GameClock}.
      */
     private void Update() {
         updateThread = new Thread(() -> {
             while (!Thread.interrupted()) {
                 try {
+                    parkWhilePaused();
+                    time = clock.elapsedMillis();
+                    onAction.onTime(time);
                     onAction.onUpdate();
                     Thread.sleep(fps);
                 } catch (InterruptedException e) {
@@ -84,6 +185,7 @@ public class GameEngine {
         physicsThread = new Thread(() -> {
             while (!Thread.interrupted()) {
                 try {
+                    parkWhilePaused();
                     onAction.onPhysicsUpdate();
                     Thread.sleep(fps);
                 } catch (InterruptedException e) {
@@ -95,42 +197,226 @@ public class GameEngine {
     }
 
     /**
-     * Starts the game engine.
+     * Starts a single thread that runs the whole game in fixed time steps.
+     * <p>
+     * Elapsed time is accumulated from the {@link GameClock} and consumed in steps of
+     * {@code 1 / fps} seconds. Each step advances the game time and then calls {@code onTime},
+     * {@code onPhysicsUpdate} and {@code onUpdate} in order, so ball movement and block collision
+     * never run concurrently. When the loop falls behind it runs up to {@link #MAX_STEPS_PER_FRAME}
+     * steps to catch up and drops whatever backlog remains, so a slow step cannot snowball. Between
+     * steps the {@link FramePacer} parks the thread until the next step is due, and while the
+     * engine is paused the thread parks until it is resumed. Every step is reported to JDK Flight
+     * Recorder as a {@link TickEvent}.
+     * </p>
      */
-    public void start() {
+    private void Simulation() {
+        simulationThread = new Thread(() -> {
+            long simulatedNanos = 0;
+            long accumulator = 0;
+            long previous = clock.elapsedNanos();
+
+            while (!Thread.currentThread().isInterrupted()) {
+                if (paused) {
+                    parked = true;
+                    LockSupport.unpark(pausing);
+                    parkWhilePaused();
+                    parked = false;
+                    if (resetRequested) {
+                        resetRequested = false;
+                        simulatedNanos = 0;
+                        accumulator = 0;
+                    }
+                    // The clock stood still while paused, so the pause is not caught up on
+                    previous = clock.elapsedNanos();
+                    continue;
+                }
+
+                long now = clock.elapsedNanos();
+                long frame = Math.min(now - previous, MAX_FRAME_NANOS);
+                previous = now;
+                accumulator += frame;
+
+                int steps = 0;
+                while (accumulator >= stepNanos && steps < MAX_STEPS_PER_FRAME
+                        && !paused && !Thread.currentThread().isInterrupted()) {
+                    TickEvent event = new TickEvent();
+                    event.begin();
+                    simulatedNanos += stepNanos;
+                    time = simulatedNanos / 1_000_000L;
+                    onAction.onTime(time);
+                    onAction.onPhysicsUpdate();
+                    onAction.onUpdate();
+                    if (event.shouldCommit()) {
+                        event.time = time;
+                        event.stepInFrame = steps;
+                        event.droppedSteps = droppedSteps;
+                        event.commit();
+                    }
+                    accumulator -= stepNanos;
+                    steps++;
+                }
+
+                if (accumulator >= stepNanos && !paused) {
+                    // Spiral-of-death protection: give up on the backlog instead of chasing it
+                    droppedSteps += accumulator / stepNanos;
+                    accumulator %= stepNanos;
+                }
+
+                if (!paused) {
+                    // Returns early, with the interrupt status kept, when the engine is stopped
+                    pacer.await(stepNanos - accumulator);
+                }
+            }
+        }, "GameEngine-simulation");
+        simulationThread.setDaemon(true);
+        simulationThread.start();
+    }
+
+    /**
+     * Parks the calling engine thread for as long as the engine is paused.
+     */
+    private void parkWhilePaused() {
+        while (paused && !Thread.currentThread().isInterrupted()) {
+            LockSupport.park(this);
+        }
+    }
+
+    /**
+     * Starts the game engine, creating its threads, or resumes it if it was started before.
+     */
+    public synchronized void start() {
+        if (!isStopped) {
+            resume();
+            return;
+        }
         time = 0;
+        droppedSteps = 0;
+        paused = false;
+        resetRequested = false;
+        clock.reset();
+        pacer = new FramePacer(stepNanos);
         Initialize();
-        Update();
-        PhysicsCalculation();
-        TimeStart();
         isStopped = false;
+        if (fixedStep) {
+            Simulation();
+        } else {
+            Update();
+            PhysicsCalculation();
+        }
+    }
+
+    /**
+     * Pauses the engine: its threads park after the step in progress and its clock stands still
+     * until {@link #resume()}. Does nothing if the engine is not running.
+     * <p>
+     * In fixed-step mode, a call from any other thread waits until the simulation thread is parked,
+     * so the caller can change the game state without racing it. A call from the simulation thread
+     * itself, for example from a game event, takes effect once the current step returns.
+     * </p>
+     */
+    public void pause() {
+        synchronized (this) {
+            if (isStopped || paused) {
+                return;
+            }
+            paused = true;
+            clock.pause();
+        }
+        Thread simulation = simulationThread;
+        if (fixedStep && Thread.currentThread() != simulation) {
+            pausing = Thread.currentThread();
+            long deadline = System.nanoTime() + STOP_TIMEOUT_MILLIS * 1_000_000L;
+            while (!parked && simulation.isAlive() && !Thread.currentThread().isInterrupted()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                LockSupport.parkNanos(this, remaining);
+            }
+            pausing = null;
+        }
     }
 
     /**
-     * Stops the game engine.
+     * Resumes a paused engine from the step it was paused at. Does nothing if it is not paused.
+     */
+    public synchronized void resume() {
+        if (isStopped || !paused) {
+            return;
+        }
+        clock.resume();
+        paused = false;
+        if (fixedStep) {
+            LockSupport.unpark(simulationThread);
+        } else {
+            LockSupport.unpark(updateThread);
+            LockSupport.unpark(physicsThread);
+        }
+    }
+
+    /**
+     * Pauses the engine and sets its time back to zero, as for a new level. The engine stays
+     * paused until {@link #start()} or {@link #resume()}.
+     */
+    public void reset() {
+        pause();
+        synchronized (this) {
+            time = 0;
+            droppedSteps = 0;
+            clock.reset();
+            clock.pause();
+            resetRequested = !isStopped;
+        }
+    }
+
+    /**
+     * Stops the game engine and ends its threads. Use {@link #pause()} to stop it for a while; a
+     * stopped engine can only be started again with new threads.
+     * <p>
+     * In fixed-step mode, a call from any other thread waits for the step in progress to finish, so
+     * the caller can change the game state without racing the simulation thread.
+     * </p>
      */
     public void stop() {
-        if (!isStopped) {
+        synchronized (this) {
+            if (isStopped) {
+                return;
+            }
             isStopped = true;
+            paused = false;
+        }
+        if (fixedStep) {
+            // Interrupting also wakes the thread from a pause or a pacer wait
+            simulationThread.interrupt();
+            if (Thread.currentThread() != simulationThread) {
+                try {
+                    simulationThread.join(STOP_TIMEOUT_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt(); // Preserve interrupt status
+                }
+            }
+        } else {
             updateThread.interrupt();
             physicsThread.interrupt();
-            timeThread.interrupt();
         }
     }
 
-    private void TimeStart() {
-        timeThread = new Thread(() -> {
-            try {
-                while (!Thread.interrupted()) {
-                    time++;
-                    onAction.onTime(time);
-                    Thread.sleep(1);
-                }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt(); // Preserve interrupt status
-            }
-        });
-        timeThread.start();
+    /**
+     * Checks whether the engine is running, i.e. started, not stopped since and not paused.
+     *
+     * @return {@code true} if the engine is running.
+     */
+    public boolean isRunning() {
+        return !isStopped && !paused;
+    }
+
+    /**
+     * Checks whether the engine is paused.
+     *
+     * @return {@code true} between {@link #pause()} or {@link #reset()} and {@link #resume()} or {@link #start()}.
+     */
+    public boolean isPaused() {
+        return !isStopped && paused;
     }
 
     /**
@@ -0,0 +1,940 @@
+package brickGame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The {@code GameSimulation} class contains the rules of the brick game: ball physics, block
+ * collision, bonuses, gold status, lives and level progression.
+ * <p>
+ * It operates on a {@link GameState} and has no dependency on JavaFX, so the game can be stepped
+ * headless at whatever speed the caller wants. Everything the user interface has to react to is
+ * reported through a {@link Listener}. Game time is derived from the number of ticks simulated,
+ * so a run does not depend on the wall clock.
+ * </p>
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>
+ * {@code
+ * GameSimulation simulation = new GameSimulation(120);
+ * simulation.getState().level++;
+ * simulation.initLevel();
+ * simulation.step(GameSimulation.INPUT_LAUNCH);
+ * for (int i = 0; i < 10000; i++) {
+ *     simulation.step(0);
+ * }
+ * }
+ * </pre>
+ */
+public class GameSimulation {
+    /**
+     * The radius of the ball in the game.
+     */
+    public static final int BALL_RADIUS = 10;
+    /**
+     * The width of the paddle (break) in the game.
+     */
+    public static final int PADDLE_WIDTH = 130;
+    /**
+     * The height of the paddle (break) in the game.
+     */
+    public static final int PADDLE_HEIGHT = 30;
+    /**
+     * Half of the width of the paddle (break) in the game.
+     */
+    public static final int HALF_PADDLE_WIDTH = PADDLE_WIDTH / 2;
+    /**
+     * The width of the game scene.
+     */
+    public static final int SCENE_WIDTH = 500;
+    /**
+     * The height of the game scene.
+     */
+    public static final int SCENE_HEIGHT = 700;
+    /**
+     * The number of extra block rows added on top of the level number.
+     */
+    public static final int DIFF_LEVEL = 4;
+    /**
+     * The number of colors in the block palette; block color indexes are below this value.
+     */
+    public static final int BLOCK_COLOR_COUNT = 13;
+    /**
+     * How long the gold status lasts, in milliseconds.
+     */
+    private static final long GOLD_DURATION = 5000;
+
+    /**
+     * Input flag that releases the ball from the paddle.
+     */
+    public static final int INPUT_LAUNCH = 1;
+    /**
+     * Input flag that uses a special move.
+     */
+    public static final int INPUT_SPECIAL = 2;
+    /**
+     * Input flag set while the paddle is pushed to the left.
+     */
+    public static final int INPUT_LEFT = 4;
+    /**
+     * Input flag set while the paddle is pushed to the right.
+     */
+    public static final int INPUT_RIGHT = 8;
+    /**
+     * Input flag that skips to the next level.
+     */
+    public static final int INPUT_SKIP_LEVEL = 16;
+
+    /**
+     * The subsystems with their own random stream: the board layout, the ball's starting position,
+     * the bonus variants and the seed of the next game.
+     */
+    private static final int STREAM_BOARD = 1;
+    private static final int STREAM_BALL = 2;
+    private static final int STREAM_BONUS = 3;
+    private static final int STREAM_NEXT_GAME = 4;
+
+    /**
+     * The state advanced by this simulation.
+     */
+    private final GameState state = new GameState();
+    /**
+     * The number of ticks per second of game time.
+     */
+    private final int tickRate;
+    /**
+     * The length of one tick, in nanoseconds.
+     */
+    private final long tickNanos;
+    /**
+     * The random streams of the current level, one per subsystem, derived from the game's seed and
+     * the level so that a level looks and plays the same for a given seed however it was reached.
+     * The board and ball streams of a new level are drawn by {@link #planLevel(long, int)}; these
+     * ones color restored boards and pick the bonus variants.
+     */
+    private SplittableRandom boardRandom;
+    private SplittableRandom bonusRandom;
+    /**
+     * How fast the paddle gains speed while a direction is held, in pixels per second squared.
+     */
+    private double paddleAcceleration = 6000;
+    /**
+     * The top speed of the paddle, in pixels per second.
+     */
+    private double paddleMaxSpeed = 600;
+    /**
+     * The swept collision test between the ball and the blocks.
+     */
+    private final BallSweep ballSweep = new BallSweep();
+    /**
+     * Recycles the bonuses that have been caught or have fallen off the screen.
+     */
+    private final EntityPool<Bonus> bonusPool = new EntityPool<Bonus>(Bonus::new, 64);
+    /**
+     * The listener notified of game events.
+     */
+    private Listener listener = new Listener() {
+    };
+    /**
+     * The snapshot requested for the next tick boundary, or {@code null} if none is requested.
+     */
+    private final AtomicReference<CompletableFuture<GameSnapshot>> snapshotRequest =
+            new AtomicReference<CompletableFuture<GameSnapshot>>();
+    /**
+     * The most recent snapshot taken of the state.
+     */
+    private volatile GameSnapshot latestSnapshot;
+    /**
+     * Hands the frame of every tick to the thread drawing the game.
+     */
+    private final RenderBuffer renderBuffer = new RenderBuffer();
+
+    /**
+     * Constructs a {@code GameSimulation} that advances the game time by {@code 1 / tickRate}
+     * seconds on every {@link #step(int)}.
+     *
+     * @param tickRate The number of ticks per second of game time.
+     *                 <p>
+     *                 Example usage:
+     *                 </p>
+     *                 <pre>
+     *                 {@code
+     *                 GameSimulation simulation = new GameSimulation(120);
+     *                 }
+     *                 </pre>
+     */
+    public GameSimulation(int tickRate) {
+        this.tickRate = tickRate;
+        this.tickNanos = 1_000_000_000L / tickRate;
+        setSeed(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Gets the state advanced by this simulation.
+     *
+     * @return The game state.
+     */
+    public GameState getState() {
+        return state;
+    }
+
+    /**
+     * Gets the number of ticks per second of game time.
+     *
+     * @return The tick rate.
+     */
+    public int getTickRate() {
+        return tickRate;
+    }
+
+    /**
+     * Sets the seed of the game and restarts the random streams of the current level from it. Two
+     * simulations in the same state, given the same seed and the same input on every tick, make the
+     * same choices from then on, and a level built from a given seed always has the same board.
+     *
+     * @param seed The seed, stored in {@link GameState#seed}.
+     */
+    public void setSeed(long seed) {
+        state.seed = seed;
+        startLevelStreams();
+    }
+
+    /**
+     * Gets the seed of the game.
+     *
+     * @return The seed.
+     */
+    public long getSeed() {
+        return state.seed;
+    }
+
+    /**
+     * Derives the random streams of the current level from the game's seed.
+     */
+    private void startLevelStreams() {
+        boardRandom = stream(state.seed, state.level, STREAM_BOARD);
+        bonusRandom = stream(state.seed, state.level, STREAM_BONUS);
+    }
+
+    /**
+     * Creates the random stream of one subsystem at one level of a game. The level and subsystem
+     * are hashed into the seed so that the streams don't overlap.
+     */
+    private static SplittableRandom stream(long seed, long level, int subsystem) {
+        return new SplittableRandom(new SplittableRandom(seed ^ (level << 8 | subsystem)).nextLong());
+    }
+
+    /**
+     * Gets the pool of bonuses, whose counters show how many bonuses are falling and how many are
+     * waiting to be reused.
+     *
+     * @return The bonus pool.
+     */
+    public EntityPool<Bonus> getBonusPool() {
+        return bonusPool;
+    }
+
+    /**
+     * Sets how fast the paddle gains speed while a direction is held.
+     *
+     * @param paddleAcceleration The acceleration in pixels per second squared.
+     */
+    public void setPaddleAcceleration(double paddleAcceleration) {
+        this.paddleAcceleration = paddleAcceleration;
+    }
+
+    /**
+     * Sets the top speed of the paddle.
+     *
+     * @param paddleMaxSpeed The speed in pixels per second.
+     */
+    public void setPaddleMaxSpeed(double paddleMaxSpeed) {
+        this.paddleMaxSpeed = paddleMaxSpeed;
+    }
+
+    /**
+     * Sets the listener notified of game events.
+     *
+     * @param listener The listener implementing the {@code Listener} interface.
+     */
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Builds the ball and the board for the current {@link GameState#level}.
+     * <p>
+     * The ball is placed at a random position and stuck to the paddle until it is launched.
+     * </p>
+     */
+    public void initLevel() {
+        initLevel(planLevel(state.seed, state.level));
+    }
+
+    /**
+     * Installs a level built ahead of time by {@link #planLevel(long, int)}. The result is the same
+     * as {@link #initLevel()}, without the cost of building the board.
+     *
+     * @param plan The plan of the current {@link GameState#level} of this game.
+     * @throws IllegalArgumentException If the plan was built for another seed or level.
+     */
+    public void initLevel(LevelPlan plan) {
+        if (!plan.isFor(state.seed, state.level)) {
+            throw new IllegalArgumentException("Plan of level " + plan.level + " installed at level " + state.level);
+        }
+        startLevelStreams();
+        state.xBall = plan.xBall;
+        state.yBall = plan.yBall;
+        state.prevXBall = state.xBall;
+        state.prevYBall = state.yBall;
+        state.isBallStuck = true;
+
+        state.isExistHeartBlock = plan.hasHeartBlock;
+        state.board = plan.board;
+        state.boardVersion++;
+        state.isLevelCleared = false;
+    }
+
+    /**
+     * Builds a level of a game without touching any simulation: the board is filled with randomly
+     * chosen blocks and the ball gets a random starting position, both drawn from the level's own
+     * streams. It only depends on its arguments, so it can run on any thread.
+     *
+     * @param seed  The seed of the game.
+     * @param level The level to build.
+     * @return The plan of the level, to install with {@link #initLevel(LevelPlan)}.
+     */
+    public static LevelPlan planLevel(long seed, int level) {
+        SplittableRandom ballRandom = stream(seed, level, STREAM_BALL);
+        double xBall = ballRandom.nextInt(SCENE_WIDTH) + 1;
+        double yBall = ballRandom.nextInt(SCENE_HEIGHT - 200) + ((level + DIFF_LEVEL) * Block.getHeight()) + 15;
+
+        SplittableRandom boardRandom = stream(seed, level, STREAM_BOARD);
+        boolean hasHeartBlock = false;
+        Board board = new Board(level + DIFF_LEVEL, 4);
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < level + DIFF_LEVEL; j++) {
+                int r = boardRandom.nextInt(500);
+                if (r % 5 == 0) {
+                    continue;
+                }
+                int type;
+                if (r % 10 == 1) {
+                    type = Block.BLOCK_CHOCO;
+                } else if (r % 10 == 2) {
+                    if (!hasHeartBlock) {
+                        type = Block.BLOCK_HEART;
+                        hasHeartBlock = true;
+                    } else {
+                        type = Block.BLOCK_NORMAL;
+                    }
+                } else if (r % 10 == 3) {
+                    type = Block.BLOCK_STAR;
+                } else {
+                    type = Block.BLOCK_NORMAL;
+                }
+                board.place(j, i, type, r % BLOCK_COLOR_COUNT);
+            }
+        }
+        return new LevelPlan(seed, level, board, hasHeartBlock, xBall, yBall);
+    }
+
+    /**
+     * Replaces the board with blocks restored from a saved game and derives the tick count from
+     * the restored {@link GameState#time}.
+     *
+     * @param saved The blocks read from the save file.
+     */
+    public void restoreBlocks(List<BlockSerializable> saved) {
+        releaseBonuses();
+
+        int rows = 0;
+        int columns = 0;
+        for (BlockSerializable ser : saved) {
+            rows = Math.max(rows, ser.row + 1);
+            columns = Math.max(columns, ser.j + 1);
+        }
+        startLevelStreams();
+        Board board = new Board(rows, columns);
+        for (BlockSerializable ser : saved) {
+            int r = boardRandom.nextInt(200);
+            board.place(ser.row, ser.j, ser.type, r % BLOCK_COLOR_COUNT);
+        }
+        state.board = board;
+        state.boardVersion++;
+        state.tick = state.time * 1_000_000L / tickNanos;
+        state.prevXBall = state.xBall;
+        state.prevYBall = state.yBall;
+        state.isLevelCleared = false;
+    }
+
+    /**
+     * Clears the board and the per-level state before the next level is built.
+     * The level, score, lives and special moves are kept.
+     */
+    public void clearLevel() {
+        state.vX = 1.000;
+        state.paddleVelocity = 0;
+        resetCollideFlags();
+        state.goDownBall = true;
+
+        state.isGoldStatus = false;
+        state.isExistHeartBlock = false;
+
+        state.tick = 0;
+        state.hitTime = 0;
+        state.time = 0;
+        state.goldTime = 0;
+
+        releaseBonuses();
+        state.board = new Board(0, 0);
+        state.boardVersion++;
+        state.destroyedBlockCount = 0;
+    }
+
+    /**
+     * Resets the game to its initial settings, ready for level 1 to be built. The new game gets a
+     * seed derived from the previous one, so a sequence of games is reproducible too.
+     */
+    public void resetGame() {
+        state.seed = stream(state.seed, state.level, STREAM_NEXT_GAME).nextLong();
+        state.level = 0;
+        state.heart = 3;
+        state.score = 0;
+        clearLevel();
+    }
+
+    /**
+     * Advances the game by one tick.
+     *
+     * @param input The player's actions for this tick, a combination of the {@code INPUT_*} flags.
+     */
+    public void step(int input) {
+        state.tick++;
+        state.time = state.tick * tickNanos / 1_000_000L;
+
+        applyInput(input);
+        movePaddle(input);
+        checkDestroyedCount();
+        setPhysicsToBall();
+        updateGoldStatus();
+        updateBonuses();
+        checkHitToBlocks();
+        publishSnapshot();
+        publishFrame();
+    }
+
+    /**
+     * Requests a snapshot of the state at the end of the next tick.
+     * <p>
+     * Requests made before the same tick boundary share one snapshot. If the simulation is not
+     * being stepped, call {@link #publishSnapshot()} to complete the request.
+     * </p>
+     *
+     * @return A future completed on the simulation thread with the snapshot.
+     */
+    public CompletableFuture<GameSnapshot> requestSnapshot() {
+        while (true) {
+            CompletableFuture<GameSnapshot> requested = snapshotRequest.get();
+            if (requested != null) {
+                return requested;
+            }
+            CompletableFuture<GameSnapshot> next = new CompletableFuture<GameSnapshot>();
+            if (snapshotRequest.compareAndSet(null, next)) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * Completes the pending snapshot request, if any, with a snapshot of the current state.
+     * Only call this from the thread stepping the simulation, or while it is not being stepped.
+     */
+    public void publishSnapshot() {
+        CompletableFuture<GameSnapshot> requested = snapshotRequest.getAndSet(null);
+        if (requested != null) {
+            requested.complete(capture());
+        }
+    }
+
+    /**
+     * Publishes the drawn parts of the current state to the {@link RenderBuffer}. Called at the end
+     * of every tick; only call this from the thread stepping the simulation.
+     */
+    public void publishFrame() {
+        renderBuffer.getBackFrame().capture(state);
+        renderBuffer.publish();
+    }
+
+    /**
+     * Gets the buffer the frame of every tick is published to, for the thread drawing the game.
+     *
+     * @return The render buffer.
+     */
+    public RenderBuffer getRenderBuffer() {
+        return renderBuffer;
+    }
+
+    /**
+     * Takes a snapshot of the current state. Only call this from the thread stepping the
+     * simulation, or while it is not being stepped.
+     *
+     * @return The snapshot.
+     */
+    public GameSnapshot capture() {
+        GameSnapshot snapshot = new GameSnapshot(state, latestSnapshot);
+        latestSnapshot = snapshot;
+        return snapshot;
+    }
+
+    /**
+     * Gets the most recent snapshot taken of the state, for consumers that only need a
+     * consistent, possibly slightly stale, view.
+     *
+     * @return The latest snapshot, or {@code null} if none has been taken yet.
+     */
+    public GameSnapshot getLatestSnapshot() {
+        return latestSnapshot;
+    }
+
+    /**
+     * Applies the player's actions for this tick.
+     *
+     * @param input A combination of the {@code INPUT_*} flags.
+     */
+    private void applyInput(int input) {
+        if ((input & INPUT_LAUNCH) != 0 && state.isBallStuck) {
+            // Release the ball if it's currently stuck
+            state.isBallStuck = false;
+            state.vX = 1.000;
+            state.goDownBall = true;
+        }
+        if ((input & INPUT_SPECIAL) != 0 && state.powerUp > 0) {
+            state.vX = 2.000;
+            state.goDownBall = !state.goDownBall;
+            state.powerUp--;
+        }
+        if ((input & INPUT_SKIP_LEVEL) != 0) {
+            skipLevel();
+        }
+    }
+
+    /**
+     * Moves the game on to the next level number without clearing the board, as the skip key does.
+     * Only call this from the thread stepping the simulation, or while it is not being stepped.
+     */
+    public void skipLevel() {
+        state.level++;
+        listener.onLevelSkipped(state.level);
+    }
+
+    /**
+     * Moves the paddle according to the held direction, accelerating it up to its top speed.
+     * The paddle stops as soon as no direction, or both, are held, and when it reaches a wall.
+     *
+     * @param input A combination of the {@code INPUT_*} flags.
+     */
+    private void movePaddle(int input) {
+        int direction = ((input & INPUT_RIGHT) != 0 ? 1 : 0) - ((input & INPUT_LEFT) != 0 ? 1 : 0);
+        if (direction == 0) {
+            state.paddleVelocity = 0;
+            return;
+        }
+        if (state.paddleVelocity * direction < 0) {
+            // Reversing: turn around at once instead of braking through zero
+            state.paddleVelocity = 0;
+        }
+
+        double seconds = tickNanos / 1_000_000_000.0;
+        double velocity = state.paddleVelocity + direction * paddleAcceleration * seconds;
+        state.paddleVelocity = Math.max(-paddleMaxSpeed, Math.min(paddleMaxSpeed, velocity));
+
+        double x = state.xBreak + state.paddleVelocity * seconds;
+        if (x <= 0 || x >= SCENE_WIDTH - PADDLE_WIDTH) {
+            x = Math.max(0, Math.min(SCENE_WIDTH - PADDLE_WIDTH, x));
+            state.paddleVelocity = 0;
+        }
+        state.xBreak = x;
+        state.centerBreakX = state.xBreak + HALF_PADDLE_WIDTH;
+    }
+
+    /**
+     * Apply physics to the ball's movement, including collisions with the paddle and walls.
+     * <p>
+     * This method is responsible for updating the ball's position based on its current state and
+     * handling collisions with the paddle and walls. Block collisions recorded in the previous tick
+     * are turned into direction changes here.
+     * </p>
+     */
+    private void setPhysicsToBall() {
+        // Remember where the ball started so the block sweep can follow this tick's motion
+        state.prevXBall = state.xBall;
+        state.prevYBall = state.yBall;
+
+        //The velocity of the ball in the y-direction.
+        double vY = 1.000;
+        if (state.level > 1) {
+            if (state.isBallStuck) {
+                // If the ball is stuck, update its position based on the paddle's position
+                state.xBall = state.centerBreakX;
+                state.yBall = state.yBreak - BALL_RADIUS;
+            } else {
+                // Ball physics when released
+                moveBall(vY);
+
+                if (state.yBall <= 0) {
+                    // Handle collision with the top wall
+                    resetCollideFlags();
+                    state.goDownBall = true;
+                    return;
+                }
+
+                if (state.yBall >= SCENE_HEIGHT) {
+                    // Handle collision with the bottom wall
+                    state.goDownBall = false;
+                    if (!state.isGoldStatus) {
+                        loseHeart();
+                    }
+                }
+            }
+
+        } else {
+            moveBall(vY);
+
+            if (state.yBall <= 0) {
+                resetCollideFlags();
+                state.goDownBall = true;
+                return;
+            }
+            if (state.yBall >= SCENE_HEIGHT) {
+                state.goDownBall = false;
+                if (!state.isGoldStatus) {
+                    state.isBallStuck = true;
+                    loseHeart();
+                }
+            }
+        }
+
+        // If gold ball status is active, increase score by 3 times
+        if (state.isGoldStatus) {
+            state.scoreMultiplier = 3;
+        } else {
+            state.scoreMultiplier = 1;
+        }
+
+        if (state.isBallStuck) {
+            // If the ball is stuck, update its position based on the paddle's position
+            state.xBall = state.centerBreakX;
+            state.yBall = state.yBreak - BALL_RADIUS;
+        }
+
+        if (state.yBall >= state.yBreak - BALL_RADIUS) {
+            if (state.xBall >= state.xBreak && state.xBall <= state.xBreak + PADDLE_WIDTH) {
+                state.hitTime = state.time;
+                resetCollideFlags();
+                state.goDownBall = false;
+
+                double relation = (state.xBall - state.centerBreakX) / ((double) PADDLE_WIDTH / 2);
+
+                if (Math.abs(relation) <= 0.3) {
+                    state.vX = Math.abs(relation);
+                } else if (Math.abs(relation) > 0.3 && Math.abs(relation) <= 0.7) {
+                    state.vX = (Math.abs(relation) * 1.5) + (state.level / 3.500);
+                } else {
+                    state.vX = (Math.abs(relation) * 2) + (state.level / 3.500);
+                }
+
+                state.collideToBreakAndMoveToRight = state.xBall - state.centerBreakX > 0;
+            }
+        }
+
+        if (state.xBall >= SCENE_WIDTH) {
+            resetCollideFlags();
+            state.collideToRightWall = true;
+        }
+
+        if (state.xBall <= 0) {
+            resetCollideFlags();
+            state.collideToLeftWall = true;
+        }
+
+        if (state.collideToBreak) {
+            state.goRightBall = state.collideToBreakAndMoveToRight;
+        }
+
+        //Wall collide
+        if (state.collideToRightWall) {
+            state.goRightBall = false;
+        }
+
+        if (state.collideToLeftWall) {
+            state.goRightBall = true;
+        }
+
+        //Block collide: a ball moving left hits a block's right face, one moving right its left face
+        if (state.collideToRightBlock) {
+            state.goRightBall = true;
+        }
+
+        if (state.collideToLeftBlock) {
+            state.goRightBall = false;
+        }
+
+        if (state.collideToTopBlock) {
+            state.goDownBall = false;
+        }
+
+        if (state.collideToBottomBlock) {
+            state.goDownBall = true;
+        }
+    }
+
+    /**
+     * Moves the ball one tick along its current direction.
+     *
+     * @param vY The velocity of the ball in the y-direction.
+     */
+    private void moveBall(double vY) {
+        if (state.goDownBall) {
+            state.yBall += vY;
+        } else {
+            state.yBall -= vY;
+        }
+
+        if (state.goRightBall) {
+            state.xBall += state.vX;
+        } else {
+            state.xBall -= state.vX;
+        }
+    }
+
+    /**
+     * Takes a heart away after the ball fell past the paddle and ends the game when none are left.
+     */
+    private void loseHeart() {
+        state.heart--;
+        listener.onHeartLost();
+
+        if (state.heart == 0) {
+            listener.onGameOver();
+        }
+    }
+
+    /**
+     * Check the count of remaining blocks and report the level as cleared once, when every block is gone.
+     */
+    private void checkDestroyedCount() {
+        if (!state.isLevelCleared && state.board.getRemainingCount() == 0) {
+            state.isLevelCleared = true;
+            state.isBallStuck = true;
+            listener.onLevelCleared();
+        }
+    }
+
+    /**
+     * Ends the gold status once it has lasted {@link #GOLD_DURATION} milliseconds.
+     */
+    private void updateGoldStatus() {
+        if (state.isGoldStatus && state.time - state.goldTime > GOLD_DURATION) {
+            state.isGoldStatus = false;
+            listener.onGoldStatusChanged(false);
+        }
+    }
+
+    /**
+     * Moves the falling bonuses, awards the ones caught by the paddle and despawns the ones that
+     * were caught or have fallen off the screen.
+     */
+    private void updateBonuses() {
+        ArrayList<Bonus> bonuses = state.chocoBlock;
+        for (int i = bonuses.size() - 1; i >= 0; i--) {
+            Bonus choco = bonuses.get(i);
+            if (choco.y >= state.yBreak && choco.y <= state.yBreak + PADDLE_HEIGHT
+                    && choco.x >= state.xBreak && choco.x <= state.xBreak + PADDLE_WIDTH) {
+                choco.taken = true;
+                state.score += 3;
+                listener.onBonusTaken(choco);
+            }
+            choco.y += ((state.time - choco.timeCreated) / 1000.000) + 1.000;
+
+            if (choco.taken || choco.y > SCENE_HEIGHT) {
+                // Order does not matter, so fill the hole with the last bonus
+                int last = bonuses.size() - 1;
+                bonuses.set(i, bonuses.get(last));
+                bonuses.remove(last);
+                listener.onBonusDespawned(choco);
+                bonusPool.release(choco);
+            }
+        }
+    }
+
+    /**
+     * Returns every falling bonus to the pool without notifying the listener, when the board is replaced.
+     */
+    private void releaseBonuses() {
+        for (Bonus choco : state.chocoBlock) {
+            bonusPool.release(choco);
+        }
+        state.chocoBlock.clear();
+    }
+
+    /**
+     * Sweeps the ball along this tick's motion against the board and destroys the first block it hits.
+     */
+    private void checkHitToBlocks() {
+        if (state.isBallStuck) {
+            // Riding on the paddle, so the jump there this tick is not a flight through the board
+            return;
+        }
+        double dx = state.xBall - state.prevXBall;
+        double dy = state.yBall - state.prevYBall;
+        Board board = state.board;
+        if (!ballSweep.sweepBoard(board, state.prevXBall, state.prevYBall, dx, dy, BALL_RADIUS)) {
+            return;
+        }
+
+        int cell = ballSweep.cell;
+        int type = board.getType(cell);
+        int hitCode = ballSweep.face;
+
+        // Pull the ball back to the point of contact so it never sinks into the block
+        state.xBall = ballSweep.x;
+        state.yBall = ballSweep.y;
+
+        state.score += state.scoreMultiplier;
+
+        board.destroy(cell);
+        state.boardVersion++;
+        state.destroyedBlockCount++;
+        resetCollideFlags();
+        listener.onBlockDestroyed(cell, hitCode);
+
+        if (type == Block.BLOCK_CHOCO) {
+            Bonus choco = bonusPool.acquire();
+            choco.reset(board.getRow(cell), board.getColumn(cell), bonusRandom.nextInt(20) % 2);
+            choco.timeCreated = state.time;
+            state.chocoBlock.add(choco);
+            listener.onBonusSpawned(choco);
+        }
+
+        if (type == Block.BLOCK_STAR) {
+            state.goldTime = state.time;
+            state.isGoldStatus = true;
+            state.powerUp++;
+            listener.onGoldStatusChanged(true);
+        }
+
+        if (type == Block.BLOCK_HEART) {
+            state.heart++;
+            state.powerUp += 5;
+        }
+
+        if (hitCode == Block.HIT_RIGHT) {
+            state.collideToRightBlock = true;
+        } else if (hitCode == Block.HIT_BOTTOM) {
+            state.collideToBottomBlock = true;
+        } else if (hitCode == Block.HIT_LEFT) {
+            state.collideToLeftBlock = true;
+        } else if (hitCode == Block.HIT_TOP) {
+            state.collideToTopBlock = true;
+        }
+    }
+
+    /**
+     * Reset collision flags.
+     * <p>
+     * This method resets the flags used to track collisions in the game. It is called
+     * to clear collision-related state before re-evaluating collisions in the game loop.
+     * </p>
+     */
+    public void resetCollideFlags() {
+        state.collideToBreak = false;
+        state.collideToBreakAndMoveToRight = false;
+        state.collideToRightWall = false;
+        state.collideToLeftWall = false;
+
+        state.collideToRightBlock = false;
+        state.collideToBottomBlock = false;
+        state.collideToLeftBlock = false;
+        state.collideToTopBlock = false;
+    }
+
+    /**
+     * The interface defining the game events reported by the simulation.
+     * All methods are called on the thread that calls {@link #step(int)} and do nothing by default.
+     */
+    public interface Listener {
+        /**
+         * Called when the ball destroys a block. The block's type and position can still be read
+         * from the {@link Board} of the state.
+         *
+         * @param cell    The board cell of the destroyed block.
+         * @param hitCode The face of the block that was hit.
+         */
+        default void onBlockDestroyed(int cell, int hitCode) {
+        }
+
+        /**
+         * Called when a destroyed choco block releases a bonus.
+         *
+         * @param bonus The new bonus.
+         */
+        default void onBonusSpawned(Bonus bonus) {
+        }
+
+        /**
+         * Called when the paddle catches a bonus.
+         *
+         * @param bonus The caught bonus.
+         */
+        default void onBonusTaken(Bonus bonus) {
+        }
+
+        /**
+         * Called when a bonus that was caught or has fallen off the screen is removed from the game.
+         * The bonus is recycled afterwards, so it must not be kept.
+         *
+         * @param bonus The removed bonus.
+         */
+        default void onBonusDespawned(Bonus bonus) {
+        }
+
+        /**
+         * Called when the gold status starts or ends.
+         *
+         * @param gold {@code true} if the gold status has started.
+         */
+        default void onGoldStatusChanged(boolean gold) {
+        }
+
+        /**
+         * Called when the ball falls past the paddle and a heart is lost.
+         */
+        default void onHeartLost() {
+        }
+
+        /**
+         * Called when the last heart is lost.
+         */
+        default void onGameOver() {
+        }
+
+        /**
+         * Called once when every block of the level has been destroyed.
+         */
+        default void onLevelCleared() {
+        }
+
+        /**
+         * Called when the level number is moved on by {@link #skipLevel()}.
+         *
+         * @param level The new level number.
+         */
+        default void onLevelSkipped(int level) {
+        }
+    }
+}
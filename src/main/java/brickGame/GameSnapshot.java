@@ -0,0 +1,277 @@
+package brickGame;
+
+/**
+ * The {@code GameSnapshot} class is an immutable, internally consistent copy of a {@link GameState}
+ * taken between two simulation ticks.
+ * <p>
+ * Snapshots are captured on the simulation thread by {@link GameSimulation}, so save, replay and
+ * telemetry consumers can read them from any thread while the game keeps running. The standing
+ * blocks are stored in primitive arrays that are shared between snapshots for as long as the board
+ * does not change.
+ * </p>
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>
+ * {@code
+ * simulation.requestSnapshot().thenAccept(snapshot -> System.out.println(snapshot.score));
+ * }
+ * </pre>
+ */
+public final class GameSnapshot {
+    /**
+     * The number of ticks simulated in the level when the snapshot was taken.
+     */
+    public final long tick;
+    /**
+     * The current level of the game.
+     */
+    public final int level;
+    /**
+     * The seed of the game's random choices.
+     */
+    public final long seed;
+    /**
+     * The score in the game.
+     */
+    public final int score;
+    /**
+     * The number of remaining heart lives.
+     */
+    public final int heart;
+    /**
+     * The number of special moves left.
+     */
+    public final int powerUp;
+    /**
+     * The count of destroyed blocks in the game.
+     */
+    public final int destroyedBlockCount;
+
+    /**
+     * The x-coordinate of the ball.
+     */
+    public final double xBall;
+    /**
+     * The y-coordinate of the ball.
+     */
+    public final double yBall;
+    /**
+     * The x-coordinate of the paddle (break).
+     */
+    public final double xBreak;
+    /**
+     * The y-coordinate of the paddle (break).
+     */
+    public final double yBreak;
+    /**
+     * The center x-coordinate of the paddle (break).
+     */
+    public final double centerBreakX;
+    /**
+     * The velocity of the ball in the x-direction.
+     */
+    public final double vX;
+    /**
+     * The current time in the game, in milliseconds.
+     */
+    public final long time;
+    /**
+     * The time when the gold status was activated.
+     */
+    public final long goldTime;
+
+    /**
+     * Indicates whether the ball is stuck to the paddle.
+     */
+    public final boolean isBallStuck;
+    /**
+     * Indicates whether a heart block exists on the board.
+     */
+    public final boolean isExistHeartBlock;
+    /**
+     * Indicates whether the gold status is active.
+     */
+    public final boolean isGoldStatus;
+    /**
+     * Indicates the direction of the ball (downward).
+     */
+    public final boolean goDownBall;
+    /**
+     * Indicates the direction of the ball (rightward).
+     */
+    public final boolean goRightBall;
+    /**
+     * Indicates collision with the paddle (break).
+     */
+    public final boolean collideToBreak;
+    /**
+     * Indicates collision with the paddle (break) and moving to the right.
+     */
+    public final boolean collideToBreakAndMoveToRight;
+    /**
+     * Indicates collision with the right wall.
+     */
+    public final boolean collideToRightWall;
+    /**
+     * Indicates collision with the left wall.
+     */
+    public final boolean collideToLeftWall;
+    /**
+     * Indicates collision with a block on the right.
+     */
+    public final boolean collideToRightBlock;
+    /**
+     * Indicates collision with a block at the bottom.
+     */
+    public final boolean collideToBottomBlock;
+    /**
+     * Indicates collision with a block on the left.
+     */
+    public final boolean collideToLeftBlock;
+    /**
+     * Indicates collision with a block at the top.
+     */
+    public final boolean collideToTopBlock;
+
+    /**
+     * The standing blocks of the board.
+     */
+    private final Blocks blocks;
+
+    /**
+     * Captures a snapshot of the given state, reusing the block arrays of a previous snapshot when
+     * the board has not changed since.
+     *
+     * @param state    The state to copy; it must not be changed while the snapshot is taken.
+     * @param previous The previous snapshot of the same game, or {@code null}.
+     */
+    GameSnapshot(GameState state, GameSnapshot previous) {
+        tick = state.tick;
+        level = state.level;
+        seed = state.seed;
+        score = state.score;
+        heart = state.heart;
+        powerUp = state.powerUp;
+        destroyedBlockCount = state.destroyedBlockCount;
+
+        xBall = state.xBall;
+        yBall = state.yBall;
+        xBreak = state.xBreak;
+        yBreak = state.yBreak;
+        centerBreakX = state.centerBreakX;
+        vX = state.vX;
+        time = state.time;
+        goldTime = state.goldTime;
+
+        isBallStuck = state.isBallStuck;
+        isExistHeartBlock = state.isExistHeartBlock;
+        isGoldStatus = state.isGoldStatus;
+        goDownBall = state.goDownBall;
+        goRightBall = state.goRightBall;
+        collideToBreak = state.collideToBreak;
+        collideToBreakAndMoveToRight = state.collideToBreakAndMoveToRight;
+        collideToRightWall = state.collideToRightWall;
+        collideToLeftWall = state.collideToLeftWall;
+        collideToRightBlock = state.collideToRightBlock;
+        collideToBottomBlock = state.collideToBottomBlock;
+        collideToLeftBlock = state.collideToLeftBlock;
+        collideToTopBlock = state.collideToTopBlock;
+
+        if (previous != null && previous.blocks.version == state.boardVersion) {
+            blocks = previous.blocks;
+        } else {
+            blocks = new Blocks(state);
+        }
+    }
+
+    /**
+     * Captures a snapshot of the given state. Only call this while the state is not being stepped.
+     *
+     * @param state The state to copy.
+     * @return The snapshot.
+     */
+    public static GameSnapshot of(GameState state) {
+        return new GameSnapshot(state, null);
+    }
+
+    /**
+     * Gets the number of standing blocks.
+     *
+     * @return The block count.
+     */
+    public int getBlockCount() {
+        return blocks.rows.length;
+    }
+
+    /**
+     * Gets the row of a standing block.
+     *
+     * @param index The index of the block, below {@link #getBlockCount()}.
+     * @return The row of the block.
+     */
+    public int getBlockRow(int index) {
+        return blocks.rows[index];
+    }
+
+    /**
+     * Gets the column of a standing block.
+     *
+     * @param index The index of the block, below {@link #getBlockCount()}.
+     * @return The column of the block.
+     */
+    public int getBlockColumn(int index) {
+        return blocks.columns[index];
+    }
+
+    /**
+     * Gets the type of a standing block.
+     *
+     * @param index The index of the block, below {@link #getBlockCount()}.
+     * @return The type of the block, one of the {@code Block.BLOCK_*} constants.
+     */
+    public int getBlockType(int index) {
+        return blocks.types[index];
+    }
+
+    /**
+     * Gets the color index of a standing block.
+     *
+     * @param index The index of the block, below {@link #getBlockCount()}.
+     * @return The color index of the block.
+     */
+    public int getBlockColor(int index) {
+        return blocks.colors[index];
+    }
+
+    /**
+     * The standing blocks of a board at one board version, in primitive arrays.
+     */
+    private static final class Blocks {
+        private final int version;
+        private final int[] rows;
+        private final int[] columns;
+        private final int[] types;
+        private final int[] colors;
+
+        private Blocks(GameState state) {
+            Board board = state.board;
+            int count = board.getRemainingCount();
+
+            version = state.boardVersion;
+            rows = new int[count];
+            columns = new int[count];
+            types = new int[count];
+            colors = new int[count];
+
+            int i = 0;
+            for (int cell = board.nextLive(0); cell >= 0; cell = board.nextLive(cell + 1)) {
+                rows[i] = board.getRow(cell);
+                columns[i] = board.getColumn(cell);
+                types[i] = board.getType(cell);
+                colors[i] = board.getColor(cell);
+                i++;
+            }
+        }
+    }
+}
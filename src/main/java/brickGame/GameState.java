@@ -0,0 +1,179 @@
+package brickGame;
+
+import java.util.ArrayList;
+
+/**
+ * The {@code GameState} class holds the complete simulation state of a game: the ball, the paddle,
+ * the board, the bonuses and the player's progress.
+ * <p>
+ * It has no dependency on JavaFX, so a game can be stepped without a display. The state is
+ * advanced by {@link GameSimulation} and read by whatever renders it.
+ * </p>
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>
+ * {@code
+ * GameSimulation simulation = new GameSimulation(120);
+ * GameState state = simulation.getState();
+ * System.out.println(state.score);
+ * }
+ * </pre>
+ */
+public class GameState {
+    /**
+     * The current level of the game.
+     */
+    public int level = 0;
+    /**
+     * The seed every random choice of this game is derived from, set by {@link GameSimulation#setSeed(long)}.
+     */
+    public long seed;
+    /**
+     * The score in the game.
+     */
+    public int score = 0;
+    /**
+     * The number of remaining heart lives.
+     */
+    public int heart = 3;
+    /**
+     * The number of special moves left.
+     */
+    public int powerUp = 5;
+    /**
+     * The multiplier for the score.
+     */
+    public int scoreMultiplier = 1;
+    /**
+     * The count of destroyed blocks in the game.
+     */
+    public int destroyedBlockCount = 0;
+
+    /**
+     * The x-coordinate of the ball.
+     */
+    public double xBall;
+    /**
+     * The y-coordinate of the ball.
+     */
+    public double yBall;
+    /**
+     * The x-coordinate of the ball at the start of the current tick.
+     */
+    public double prevXBall;
+    /**
+     * The y-coordinate of the ball at the start of the current tick.
+     */
+    public double prevYBall;
+    /**
+     * The velocity of the ball in the x-direction.
+     */
+    public double vX = 1.000;
+    /**
+     * Indicates whether the ball is stuck to the paddle.
+     */
+    public boolean isBallStuck = true;
+
+    /**
+     * The x-coordinate of the paddle (break).
+     */
+    public double xBreak = 0.0f;
+    /**
+     * The y-coordinate of the paddle (break).
+     */
+    public double yBreak = 640.0f;
+    /**
+     * The center x-coordinate of the paddle (break).
+     */
+    public double centerBreakX;
+    /**
+     * The velocity of the paddle (break), in pixels per second; negative values move it left.
+     */
+    public double paddleVelocity = 0;
+
+    /**
+     * The number of ticks simulated in the current level.
+     */
+    public long tick = 0;
+    /**
+     * The current time in the game, in milliseconds.
+     */
+    public long time = 0;
+    /**
+     * The time when the ball last hit the paddle.
+     */
+    public long hitTime = 0;
+    /**
+     * The time when the gold status was activated.
+     */
+    public long goldTime = 0;
+
+    /**
+     * Indicates the direction of the ball (downward).
+     */
+    public boolean goDownBall = true;
+    /**
+     * Indicates the direction of the ball (rightward).
+     */
+    public boolean goRightBall = true;
+    /**
+     * Indicates collision with the paddle (break).
+     */
+    public boolean collideToBreak = false;
+    /**
+     * Indicates collision with the paddle (break) and moving to the right.
+     */
+    public boolean collideToBreakAndMoveToRight = true;
+    /**
+     * Indicates collision with the right wall.
+     */
+    public boolean collideToRightWall = false;
+    /**
+     * Indicates collision with the left wall.
+     */
+    public boolean collideToLeftWall = false;
+    /**
+     * Indicates collision with a block on the right.
+     */
+    public boolean collideToRightBlock = false;
+    /**
+     * Indicates collision with a block at the bottom.
+     */
+    public boolean collideToBottomBlock = false;
+    /**
+     * Indicates collision with a block on the left.
+     */
+    public boolean collideToLeftBlock = false;
+    /**
+     * Indicates collision with a block at the top.
+     */
+    public boolean collideToTopBlock = false;
+
+    /**
+     * Indicates whether the gold status is active.
+     */
+    public boolean isGoldStatus = false;
+    /**
+     * Indicates whether a heart block exists on the board.
+     */
+    public boolean isExistHeartBlock = false;
+    /**
+     * Indicates whether the board has been cleared and the level is waiting to be replaced.
+     */
+    public boolean isLevelCleared = false;
+
+    /**
+     * The blocks of the current level.
+     */
+    public Board board = new Board(0, 0);
+    /**
+     * Incremented whenever the board changes, so snapshots can share the block arrays of an
+     * unchanged board.
+     */
+    public int boardVersion = 0;
+    /**
+     * The list of bonus (choco) items falling from destroyed blocks.
+     */
+    public final ArrayList<Bonus> chocoBlock = new ArrayList<Bonus>();
+}
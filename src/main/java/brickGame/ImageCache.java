@@ -0,0 +1,115 @@
+package brickGame;
+
+import javafx.scene.image.Image;
+import javafx.scene.paint.ImagePattern;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code ImageCache} class decodes every sprite and texture of the game once and shares the
+ * result between all blocks, bonuses and balls.
+ * <p>
+ * {@link Image} and {@link ImagePattern} are immutable, so a single instance per resource can be
+ * used by any number of shapes. Lookups are counted as hits or misses so the effect of the cache
+ * can be checked at runtime.
+ * </p>
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>
+ * {@code
+ * ImageCache.preload("ball.png", "choco.jpg");
+ * rect.setFill(ImageCache.getPattern("choco.jpg"));
+ * }
+ * </pre>
+ */
+public final class ImageCache {
+    /**
+     * The decoded images keyed by resource name.
+     */
+    private static final ConcurrentHashMap<String, Image> images = new ConcurrentHashMap<>();
+    /**
+     * The image patterns keyed by resource name.
+     */
+    private static final ConcurrentHashMap<String, ImagePattern> patterns = new ConcurrentHashMap<>();
+    /**
+     * The number of lookups served from the cache.
+     */
+    private static final LongAdder hits = new LongAdder();
+    /**
+     * The number of lookups that had to decode an image.
+     */
+    private static final LongAdder misses = new LongAdder();
+
+    private ImageCache() {
+    }
+
+    /**
+     * Gets the decoded image for a resource, decoding it on first use.
+     *
+     * @param url The resource name of the image, for example {@code "ball.png"}.
+     * @return The shared decoded image.
+     */
+    public static Image getImage(String url) {
+        Image image = images.get(url);
+        if (image != null) {
+            hits.increment();
+            return image;
+        }
+        return images.computeIfAbsent(url, key -> {
+            misses.increment();
+            return new Image(key);
+        });
+    }
+
+    /**
+     * Gets the image pattern for a resource, creating it on first use.
+     *
+     * @param url The resource name of the image, for example {@code "choco.jpg"}.
+     * @return The shared image pattern.
+     */
+    public static ImagePattern getPattern(String url) {
+        ImagePattern pattern = patterns.get(url);
+        if (pattern != null) {
+            hits.increment();
+            return pattern;
+        }
+        return patterns.computeIfAbsent(url, key -> new ImagePattern(getImage(key)));
+    }
+
+    /**
+     * Decodes the given images and creates their patterns on a background thread.
+     *
+     * @param urls The resource names of the images to load.
+     * @return The thread doing the loading.
+     */
+    public static Thread preload(String... urls) {
+        Thread thread = new Thread(() -> {
+            for (String url : urls) {
+                getPattern(url);
+            }
+        }, "ImageCache-preload");
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * Gets the number of lookups served from the cache.
+     *
+     * @return The hit count.
+     */
+    public static long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of lookups that had to decode an image.
+     *
+     * @return The miss count.
+     */
+    public static long getMisses() {
+        return misses.sum();
+    }
+}
@@ -0,0 +1,160 @@
+package brickGame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code InputState} class records which keys the player is holding and which one-shot actions
+ * were requested, so the simulation can poll them once per tick.
+ * <p>
+ * Key handlers call {@link #press(Direction)}, {@link #release(Direction)} and
+ * {@link #trigger(int)} from the JavaFX thread; the simulation thread calls {@link #poll()} at the
+ * start of every tick and passes the result to {@link GameSimulation#step(int)}. A key tapped and
+ * released between two ticks still counts as held for one tick, so no press is lost.
+ * </p>
+ * <p>
+ * The time from a direction key going down to the first tick that moves the paddle is measured and
+ * exposed as input-to-move latency.
+ * </p>
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>
+ * {@code
+ * InputState input = new InputState();
+ * input.press(Direction.LEFT);
+ * simulation.step(input.poll());
+ * input.release(Direction.LEFT);
+ * }
+ * </pre>
+ */
+public class InputState {
+    /**
+     * The direction flags of the keys currently held down.
+     */
+    private final AtomicInteger held = new AtomicInteger();
+    /**
+     * The flags pressed or triggered since the last poll.
+     */
+    private final AtomicInteger latched = new AtomicInteger();
+    /**
+     * The time the left key went down, or 0 if that press has already been polled.
+     */
+    private volatile long leftPressNanos;
+    /**
+     * The time the right key went down, or 0 if that press has already been polled.
+     */
+    private volatile long rightPressNanos;
+
+    private final AtomicLong latencyCount = new AtomicLong();
+    private final AtomicLong totalLatencyNanos = new AtomicLong();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+    private volatile long lastLatencyNanos;
+
+    /**
+     * Records a direction key going down. Repeated presses while the key is held are ignored.
+     *
+     * @param direction The direction of the key.
+     */
+    public void press(Direction direction) {
+        int flag = flagOf(direction);
+        if ((held.getAndAccumulate(flag, (a, b) -> a | b) & flag) != 0) {
+            // Key repeat while the key is already held
+            return;
+        }
+        if (direction == Direction.LEFT) {
+            leftPressNanos = System.nanoTime();
+        } else {
+            rightPressNanos = System.nanoTime();
+        }
+        latched.accumulateAndGet(flag, (a, b) -> a | b);
+    }
+
+    /**
+     * Records a direction key going up.
+     *
+     * @param direction The direction of the key.
+     */
+    public void release(Direction direction) {
+        int flag = flagOf(direction);
+        held.accumulateAndGet(flag, (a, b) -> a & ~b);
+    }
+
+    /**
+     * Requests one-shot actions for the next tick.
+     *
+     * @param flags A combination of the {@code GameSimulation.INPUT_*} action flags.
+     */
+    public void trigger(int flags) {
+        latched.accumulateAndGet(flags, (a, b) -> a | b);
+    }
+
+    /**
+     * Takes the input for the next tick: the keys held now plus everything pressed or triggered
+     * since the last poll.
+     *
+     * @return A combination of the {@code GameSimulation.INPUT_*} flags.
+     */
+    public int poll() {
+        int input = held.get() | latched.getAndSet(0);
+        if ((input & GameSimulation.INPUT_LEFT) != 0 && leftPressNanos != 0) {
+            recordLatency(leftPressNanos);
+            leftPressNanos = 0;
+        }
+        if ((input & GameSimulation.INPUT_RIGHT) != 0 && rightPressNanos != 0) {
+            recordLatency(rightPressNanos);
+            rightPressNanos = 0;
+        }
+        return input;
+    }
+
+    /**
+     * Forgets all held keys and pending actions, for example when a new level starts.
+     */
+    public void reset() {
+        held.set(0);
+        latched.set(0);
+        leftPressNanos = 0;
+        rightPressNanos = 0;
+    }
+
+    private void recordLatency(long pressNanos) {
+        long nanos = System.nanoTime() - pressNanos;
+        latencyCount.incrementAndGet();
+        totalLatencyNanos.addAndGet(nanos);
+        maxLatencyNanos.accumulateAndGet(nanos, Math::max);
+        lastLatencyNanos = nanos;
+    }
+
+    private static int flagOf(Direction direction) {
+        return direction == Direction.LEFT ? GameSimulation.INPUT_LEFT : GameSimulation.INPUT_RIGHT;
+    }
+
+    /**
+     * Gets the latency of the last direction key press, from the key event to the tick that applied it.
+     *
+     * @return The last input-to-move latency in nanoseconds.
+     */
+    public long getLastLatencyNanos() {
+        return lastLatencyNanos;
+    }
+
+    /**
+     * Gets the mean input-to-move latency.
+     *
+     * @return The mean latency in nanoseconds, or 0 if no key was pressed yet.
+     */
+    public long getMeanLatencyNanos() {
+        long count = latencyCount.get();
+        return count == 0 ? 0 : totalLatencyNanos.get() / count;
+    }
+
+    /**
+     * Gets the longest input-to-move latency.
+     *
+     * @return The maximum latency in nanoseconds.
+     */
+    public long getMaxLatencyNanos() {
+        return maxLatencyNanos.get();
+    }
+}
@@ -0,0 +1,167 @@
+package brickGame;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The {@code LevelPipeline} class builds the next level on a worker thread while the current one
+ * is being played, so that a level change only has to swap it in.
+ * <p>
+ * A level only depends on the seed of the game and its number, so as soon as a level starts the
+ * board of the one after it can be generated with {@link GameSimulation#planLevel(long, int)}, its
+ * blocks drawn with {@link BoardRenderer#prepare(Board)} and its background decoded by the
+ * {@link BackgroundManager}. When the level is cleared, {@link #take(long, int)} hands over the
+ * prepared level. If the player skipped a level or restarted the game in the meantime, the
+ * prepared level is not the one asked for, and it is built on the spot instead.
+ * </p>
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>
+ * {@code
+ * LevelPipeline levels = new LevelPipeline(boardRenderer, backgrounds);
+ * levels.prepare(state.seed, state.level + 1);
+ * // ... the level is cleared
+ * LevelPipeline.PreparedLevel next = levels.take(state.seed, state.level + 1);
+ * simulation.clearLevel();
+ * state.level++;
+ * simulation.initLevel(next.plan);
+ * boardRenderer.setDrawing(next.drawing);
+ * }
+ * </pre>
+ */
+public class LevelPipeline {
+    /**
+     * A level built ahead of time: the plan to install in the simulation and the drawing of its board.
+     */
+    public static class PreparedLevel {
+        /**
+         * The board and ball of the level, for {@link GameSimulation#initLevel(LevelPlan)}.
+         */
+        public final LevelPlan plan;
+        /**
+         * The drawing of the board, for {@link BoardRenderer#setDrawing(BoardRenderer.Drawing)}.
+         */
+        public final BoardRenderer.Drawing drawing;
+
+        private PreparedLevel(LevelPlan plan, BoardRenderer.Drawing drawing) {
+            this.plan = plan;
+            this.drawing = drawing;
+        }
+    }
+
+    /**
+     * The renderer the boards are drawn for.
+     */
+    private final BoardRenderer renderer;
+    /**
+     * The cache the backgrounds are decoded into.
+     */
+    private final BackgroundManager backgrounds;
+    /**
+     * The single thread that builds the levels.
+     */
+    private final ExecutorService builder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "LevelPipeline-builder");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /**
+     * The level being built or ready, or {@code null} if none; only used on the JavaFX application thread.
+     */
+    private CompletableFuture<PreparedLevel> pending;
+    private long pendingSeed;
+    private int pendingLevel;
+
+    private long hits;
+    private long misses;
+
+    /**
+     * Constructs a {@code LevelPipeline} with nothing prepared.
+     *
+     * @param renderer    The renderer that will show the boards.
+     * @param backgrounds The backgrounds of the levels.
+     *                    <p>
+     *                    Example usage:
+     *                    </p>
+     *                    <pre>
+     *                    {@code
+     *                    LevelPipeline levels = new LevelPipeline(boardRenderer, backgrounds);
+     *                    }
+     *                    </pre>
+     */
+    public LevelPipeline(BoardRenderer renderer, BackgroundManager backgrounds) {
+        this.renderer = renderer;
+        this.backgrounds = backgrounds;
+    }
+
+    /**
+     * Starts building a level on the worker thread, replacing any level prepared before. Does
+     * nothing if that level is already being built. Call this on the JavaFX application thread.
+     *
+     * @param seed  The seed of the game.
+     * @param level The level to build.
+     */
+    public void prepare(long seed, int level) {
+        if (pending != null && pendingSeed == seed && pendingLevel == level) {
+            return;
+        }
+        pendingSeed = seed;
+        pendingLevel = level;
+        pending = CompletableFuture.supplyAsync(() -> build(seed, level), builder);
+        backgrounds.prefetch(level);
+    }
+
+    /**
+     * Takes a level, either the one prepared or, if another level was prepared, one built now.
+     * If the prepared level is still being built, waits for it, which costs less than starting
+     * over. Call this on the JavaFX application thread.
+     *
+     * @param seed  The seed of the game.
+     * @param level The level to build.
+     * @return The level, ready to install.
+     */
+    public PreparedLevel take(long seed, int level) {
+        CompletableFuture<PreparedLevel> prepared = pending;
+        pending = null;
+        if (prepared != null && pendingSeed == seed && pendingLevel == level) {
+            try {
+                PreparedLevel ready = prepared.join();
+                hits++;
+                return ready;
+            } catch (CompletionException e) {
+                e.printStackTrace();
+            }
+        }
+        misses++;
+        return build(seed, level);
+    }
+
+    /**
+     * Generates and draws a level.
+     */
+    private PreparedLevel build(long seed, int level) {
+        LevelPlan plan = GameSimulation.planLevel(seed, level);
+        return new PreparedLevel(plan, renderer.prepare(plan.board));
+    }
+
+    /**
+     * Gets the number of levels taken from the worker thread.
+     *
+     * @return The hit count.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Gets the number of levels that had to be built when they were taken.
+     *
+     * @return The miss count.
+     */
+    public long getMisses() {
+        return misses;
+    }
+}
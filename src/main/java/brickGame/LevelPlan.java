@@ -0,0 +1,84 @@
+package brickGame;
+
+/**
+ * The {@code LevelPlan} class holds a level built ahead of time by {@link GameSimulation#planLevel(long, int)}:
+ * its board and the starting position of the ball.
+ * <p>
+ * A level only depends on the seed of the game and the level number, so its plan can be built on
+ * any thread while the previous level is being played, then installed with
+ * {@link GameSimulation#initLevel(LevelPlan)}. The board is handed over to the simulation, so a plan
+ * can only be installed once.
+ * </p>
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>
+ * {@code
+ * LevelPlan plan = GameSimulation.planLevel(state.seed, state.level + 1);
+ * simulation.clearLevel();
+ * state.level++;
+ * simulation.initLevel(plan);
+ * }
+ * </pre>
+ */
+public class LevelPlan {
+    /**
+     * The seed of the game the level belongs to.
+     */
+    public final long seed;
+    /**
+     * The level number.
+     */
+    public final int level;
+    /**
+     * The blocks of the level.
+     */
+    public final Board board;
+    /**
+     * Indicates whether the board has a heart block.
+     */
+    public final boolean hasHeartBlock;
+    /**
+     * The starting position of the ball.
+     */
+    public final double xBall;
+    public final double yBall;
+
+    /**
+     * Constructs a {@code LevelPlan}.
+     *
+     * @param seed          The seed of the game.
+     * @param level         The level number.
+     * @param board         The blocks of the level.
+     * @param hasHeartBlock Whether the board has a heart block.
+     * @param xBall         The starting x coordinate of the ball.
+     * @param yBall         The starting y coordinate of the ball.
+     *                      <p>
+     *                      Example usage:
+     *                      </p>
+     *                      <pre>
+     *                      {@code
+     *                      LevelPlan plan = new LevelPlan(seed, 3, board, false, 250, 400);
+     *                      }
+     *                      </pre>
+     */
+    public LevelPlan(long seed, int level, Board board, boolean hasHeartBlock, double xBall, double yBall) {
+        this.seed = seed;
+        this.level = level;
+        this.board = board;
+        this.hasHeartBlock = hasHeartBlock;
+        this.xBall = xBall;
+        this.yBall = yBall;
+    }
+
+    /**
+     * Checks whether this plan is the given level of the given game.
+     *
+     * @param seed  The seed of the game.
+     * @param level The level number.
+     * @return {@code true} if the plan was built for that seed and level.
+     */
+    public boolean isFor(long seed, int level) {
+        return this.seed == seed && this.level == level;
+    }
+}
@@ -0,0 +1,44 @@
+package brickGame;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The {@code LevelTransitionEvent} class is the JDK Flight Recorder event of a change of level, from
+ * pausing the engine on the cleared level to the next level being built and shown.
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>
+ * {@code
+ * LevelTransitionEvent event = new LevelTransitionEvent();
+ * event.begin();
+ * event.fromLevel = state.level;
+ * showLevel();
+ * event.toLevel = state.level;
+ * event.commit();
+ * }
+ * </pre>
+ */
+@Name("brickGame.LevelTransition")
+@Label("Level Transition")
+@Category({"Brick Game", "Level"})
+@Description("Building and showing the next level")
+public class LevelTransitionEvent extends jdk.jfr.Event {
+    @Label("From Level")
+    public int fromLevel;
+    @Label("To Level")
+    public int toLevel;
+    /**
+     * The number of blocks on the board of the new level.
+     */
+    @Label("Block Count")
+    public int blockCount;
+    /**
+     * Whether the new level was built ahead of time by the {@link LevelPipeline}.
+     */
+    @Label("Prepared")
+    public boolean prepared;
+}
@@ -0,0 +1,43 @@
+package brickGame;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The {@code LoadEvent} class is the JDK Flight Recorder event of loading a save, from reading the
+ * file to the restored level being shown.
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>
+ * {@code
+ * LoadEvent event = new LoadEvent();
+ * event.begin();
+ * loadSave.read();
+ * event.level = loadSave.level;
+ * event.commit();
+ * }
+ * </pre>
+ */
+@Name("brickGame.Load")
+@Label("Load Game")
+@Category({"Brick Game", "Persistence"})
+@Description("Reading a save and rebuilding its level")
+public class LoadEvent extends jdk.jfr.Event {
+    @Label("Level")
+    public int level;
+    /**
+     * The number of blocks restored from the save.
+     */
+    @Label("Block Count")
+    public int blockCount;
+    /**
+     * The size of the save file.
+     */
+    @Label("Bytes Read")
+    @DataAmount
+    public long bytes;
+}
@@ -7,8 +7,8 @@ import java.io.ObjectInputStream;
 import java.util.ArrayList;
 
 /**
- * The {@code LoadSave} class is responsible for reading saved game data from a file.
- * It provides methods to deserialize and load the saved state of the game.
+ * The {@code LoadSave} class is responsible for writing and reading saved game data.
+ * It provides methods to serialize the state of the game and to deserialize and load it back.
  * <p>
  * <b>HTML Note:</b> The HTML tags can be used for formatting purposes in the generated Javadocs.
  * </p>
@@ -17,6 +17,7 @@ import java.util.ArrayList;
  * </p>
  * <pre>
  * {@code
+ * LoadSave.write(simulation.capture(), new File(Main.savePath));
  * LoadSave loader = new LoadSave();
  * loader.read();
  * }
@@ -88,6 +89,16 @@ public class LoadSave {
      */
     public int level;
 
+    /**
+     * The seed of the saved game's random choices, valid only if {@link #hasSeed} is set.
+     */
+    public long seed;
+
+    /**
+     * Indicates whether the save stored its seed; saves older than {@link SaveFormat} version 2 don't.
+     */
+    public boolean hasSeed;
+
     /**
      * Represents the score in the saved game state.
      */
@@ -148,6 +159,26 @@ public class LoadSave {
      */
     public ArrayList<BlockSerializable> blocks = new ArrayList<>();
 
+    /**
+     * Writes the given game snapshot to a file in the binary {@link SaveFormat}.
+     *
+     * @param state The snapshot of the game to save.
+     * @param file  The file to write.
+     * @return The number of bytes written.
+     * @throws IOException If the file cannot be written.
+     *                     <p>
+     *                     Example usage:
+     *                     </p>
+     *                     <pre>
+     *                     {@code
+     *                     LoadSave.write(simulation.capture(), new File(Main.savePath));
+     *                     }
+     *                     </pre>
+     */
+    public static int write(GameSnapshot state, File file) throws IOException {
+        return SaveFormat.write(state, file);
+    }
+
     /**
      * Reads the saved game data from a file and initializes the state of the game.
      * <p>
@@ -164,12 +195,48 @@ public class LoadSave {
      * </pre>
      */
     public void read() {
+        read(new File(Main.savePath));
+    }
 
-
+    /**
+     * Reads the saved game data from the given file and initializes the state of the game.
+     * <p>
+     * Saves in the binary {@link SaveFormat} are read directly; saves written by older versions of the
+     * game with Java serialization are still recognised and migrated.
+     * </p>
+     *
+     * @param file The save file to read.
+     */
+    public void read(File file) {
         try {
-            ObjectInputStream inputStream = new ObjectInputStream(new FileInputStream(new File(Main.savePath)));
+            if (isLegacySave(file)) {
+                readLegacy(file);
+            } else {
+                SaveFormat.read(file, this);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Checks whether a file starts with the Java serialization stream magic number.
+     */
+    private static boolean isLegacySave(File file) throws IOException {
+        try (FileInputStream inputStream = new FileInputStream(file)) {
+            return inputStream.read() == 0xAC && inputStream.read() == 0xED;
+        }
+    }
+
+    /**
+     * Reads a save written with Java serialization by older versions of the game.
+     *
+     * @param file The save file to read.
+     */
+    private void readLegacy(File file) {
 
 
+        try (ObjectInputStream inputStream = new ObjectInputStream(new FileInputStream(file))) {
             level = inputStream.readInt();
             score = inputStream.readInt();
             heart = inputStream.readInt();
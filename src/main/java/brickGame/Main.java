@@ -1,5 +1,6 @@
 package brickGame;
 
+import javafx.animation.AnimationTimer;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.event.ActionEvent;
@@ -7,23 +8,29 @@ import javafx.event.EventHandler;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
-import javafx.scene.image.Image;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
-import javafx.scene.paint.ImagePattern;
 import javafx.scene.shape.Circle;
 import javafx.scene.shape.Rectangle;
 import javafx.stage.Stage;
 
-import java.io.*;
-import java.util.ArrayList;
-import java.util.Random;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static brickGame.GameSimulation.PADDLE_HEIGHT;
+import static brickGame.GameSimulation.PADDLE_WIDTH;
+import static brickGame.GameSimulation.SCENE_HEIGHT;
+import static brickGame.GameSimulation.SCENE_WIDTH;
 
 /**
  * <p>This class is the main entry point for the Block Game application.
- * It extends the JavaFX `Application` class and implements the `EventHandler`
- * and `GameEngine.OnAction` interfaces to handle keyboard events and game actions, respectively.
+ * It extends the JavaFX `Application` class and implements the `EventHandler`,
+ * `GameEngine.OnAction`, `GameSimulation.Listener` and `RenderCommandQueue.Handler` interfaces to
+ * handle keyboard events, game ticks, game events and the scene changes they lead to, respectively.
  * Example usage:
  * </p>
  * <pre>
@@ -36,52 +43,39 @@ import java.util.Random;
  * <p>The game involves a ball, a paddle, and various blocks. The goal is to destroy the blocks
  * using the ball, controlled by the paddle, and advance through levels.
  * </p>
+ * <p>The rules of the game live in {@link GameSimulation}; this class only renders its
+ * {@link GameState}, forwards the player's input and plays the sounds and dialogs.
+ * </p>
  *
  * @author Nicholas Lum
  * @version 1.0
  */
-public class Main extends Application implements EventHandler<KeyEvent>, GameEngine.OnAction {
+public class Main extends Application implements EventHandler<KeyEvent>, GameEngine.OnAction, GameSimulation.Listener,
+        RenderCommandQueue.Handler {
 
     // Game settings
     private static final int victoryLevel = 22;
     /**
-     * The radius of the ball in the game.
-     */
-    private static final int ballRadius = 10;
-    /**
-     * The width of the paddle (break) in the game.
-     */
-    private static final int PADDLE_WIDTH = 130;
-    /**
-     * The height of the paddle (break) in the game.
-     */
-    private static final int PADDLE_HEIGHT = 30;
-
-    // Paddle (break) dimensions
-    /**
-     * Half of the width of the paddle (break) in the game.
-     */
-    private static final int HALF_PADDLE_WIDTH = PADDLE_WIDTH / 2;
-    /**
-     * The width of the game scene.
+     * The number of simulation ticks per second.
      */
-    private static final int SCENE_WIDTH = 500;
+    private static final int TICK_RATE = 120;
     /**
-     * The height of the game scene.
+     * The system property that sets the seed of the first game, in hexadecimal as shown in the HUD,
+     * so a board can be reproduced.
      */
-    private static final int SCENE_HEIGHT = 700;
+    private static final String SEED_PROPERTY = "brick.seed";
     /**
      * The path to save the game data.
      */
     public static String savePath = "C:/save/save.mdds";
 
-    // Scene dimensions
     /**
      * The directory path to save the game data.
      */
     public static String savePathDir = "C:/save/";
     /**
      * The array of colors used for blocks in the game.
+     * It holds {@link GameSimulation#BLOCK_COLOR_COUNT} entries, indexed by {@link Board#getColor(int)}.
      */
     private final Color[] colors = new Color[]{
             Color.MAGENTA,
@@ -99,12 +93,10 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
             Color.TAN,
     };
 
-    // Ball variables
     /**
      * The primary stage of the JavaFX application.
      */
     public Stage primaryStage;
-    int powerUp = 5;
     /**
      * The "Load Game" button in the GUI.
      */
@@ -114,143 +106,107 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      */
     Button newGame = null;
 
-    // Paddle variables
-    /**
-     * The current level of the game.
-     */
-    private int level = 0;
-    /**
-     * The difficulty level of the game.
-     */
-    private final int diffLevel = 4;
-    /**
-     * The ball object in the game.
-     */
-    private Circle ball;
-    /**
-     * The x-coordinate of the ball.
-     */
-    private double xBall;
-
-
-    // Game state variables
-    /**
-     * The y-coordinate of the ball.
-     */
-    private double yBall;
-    /**
-     * Indicates whether the ball is stuck.
-     */
-    private boolean isBallStuck = true;
-    /**
-     * The rectangle representing the paddle (break) in the game.
-     */
-    private Rectangle rect;
-    /**
-     * The x-coordinate of the paddle (break).
-     */
-    private double xBreak = 0.0f;
-    /**
-     * The y-coordinate of the paddle (break).
-     */
-    private double yBreak = 640.0f;
     /**
-     * The center x-coordinate of the paddle (break).
+     * The simulation running the rules of the game.
      */
-    private double centerBreakX;
+    private final GameSimulation simulation = new GameSimulation(TICK_RATE);
     /**
-     * The count of destroyed blocks in the game.
+     * The state of the game, owned by {@link #simulation}.
      */
-    private int destroyedBlockCount = 0;
-
-    // Ball state variables
+    private final GameState state = simulation.getState();
     /**
-     * The number of remaining heart lives.
+     * The service writing saves in the background.
      */
-    private int heart = 3;
+    private final SaveService saveService = new SaveService(new File(savePath));
     /**
-     * The score in the game.
+     * The future of the most recently requested save.
      */
-    private int score = 0;
+    private volatile CompletableFuture<Integer> lastSave;
     /**
-     * The multiplier for the score.
+     * The keys held by the player and the actions waiting to be applied on the next tick.
      */
-    private int scoreMultiplier = 1;
+    private final InputState input = new InputState();
     /**
-     * The current time in the game.
+     * The frame-time histograms of every phase, shown by {@link #performanceLabel} and dumped on exit.
      */
-    private long time = 0;
+    private final PerformanceMonitor performance = new PerformanceMonitor(TICK_RATE);
     /**
-     * The time when the ball hits an object.
+     * When the current simulation tick started; only used on the simulation thread.
      */
-    private long hitTime = 0;
+    private long tickStartNanos;
     /**
-     * The time when the gold status is active.
+     * When the current JavaFX pulse started and when the overlay was last refreshed; only used on
+     * the JavaFX application thread.
      */
-    private long goldTime = 0;
+    private long pulseStartNanos;
+    private long overlayRefreshNanos;
     /**
-     * Indicates the direction of the ball (downward).
+     * The scene changes asked for by game events, applied by {@link #renderTimer} once per pulse.
      */
-    private boolean goDownBall = true;
+    private final RenderCommandQueue renderCommands = new RenderCommandQueue();
     /**
-     * Indicates the direction of the ball (rightward).
+     * Draws the latest tick and applies the queued scene changes on every JavaFX pulse.
      */
-    private boolean goRightBall = true;
+    private AnimationTimer renderTimer;
     /**
-     * Indicates collision with the paddle (break).
+     * Whether the performance overlay is shown; toggled with F3 and kept across levels.
      */
-    private boolean collideToBreak = false;
+    private boolean showPerformance = false;
     /**
-     * Indicates collision with the paddle (break) and moving to the right.
+     * Records the game for {@link ReplayPlayer} when the {@value ReplayRecorder#RECORD_PROPERTY}
+     * system property names a file, {@code null} otherwise.
      */
-    private boolean collideToBreakAndMoveToRight = true;
+    private final ReplayRecorder recorder = System.getProperty(ReplayRecorder.RECORD_PROPERTY) != null
+            ? new ReplayRecorder() : null;
 
-    // Ball velocity variables
     /**
-     * Indicates collision with the right wall.
+     * The ball object in the game.
      */
-    private boolean collideToRightWall = false;
-
-
-    // Game engine and save path
+    private Circle ball;
     /**
-     * Indicates collision with the left wall.
+     * The rectangle representing the paddle (break) in the game.
      */
-    private boolean collideToLeftWall = false;
+    private Rectangle rect;
     /**
-     * Indicates collision with a block on the right.
+     * Draws the blocks of the board; chosen at startup by {@link BoardRenderer#create(Color[])}.
      */
-    private boolean collideToRightBlock = false;
+    private final BoardRenderer boardRenderer = BoardRenderer.create(colors);
     /**
-     * Indicates collision with a block at the bottom.
+     * Decodes, caches and shows the level backgrounds.
      */
-    private boolean collideToBottomBlock = false;
+    private final BackgroundManager backgrounds = new BackgroundManager(BackgroundManager.DEFAULT_BUDGET_BYTES);
     /**
-     * Indicates collision with a block on the left.
+     * Builds the board and background of the next level while the current one is played.
      */
-    private boolean collideToLeftBlock = false;
+    private final LevelPipeline levels = new LevelPipeline(boardRenderer, backgrounds);
     /**
-     * Indicates collision with a block at the top.
+     * The rectangle drawn for each falling bonus. Only used on the JavaFX application thread.
      */
-    private boolean collideToTopBlock = false;
+    private final Map<Bonus, Rectangle> bonusNodes = new HashMap<Bonus, Rectangle>();
     /**
-     * The velocity of the ball in the x-direction.
+     * Recycles the rectangles of despawned bonuses. Only used on the JavaFX application thread.
      */
-    private double vX = 1.000;
+    private final EntityPool<Rectangle> bonusNodePool = new EntityPool<Rectangle>(() -> {
+        Rectangle choco = new Rectangle();
+        choco.setWidth(Bonus.SIZE);
+        choco.setHeight(Bonus.SIZE);
+        return choco;
+    }, 32);
 
-    // GUI components
     /**
-     * The game engine for managing game logic.
+     * The game engine for managing game logic. It is created once and paused, reset and resumed
+     * between levels, so its threads live as long as the game.
      */
-    private GameEngine engine;
+    private final GameEngine engine = new GameEngine();
     /**
-     * The list of blocks in the game.
+     * Indicates whether the player paused the game with the pause key.
      */
-    private final ArrayList<Block> blocks = new ArrayList<Block>();
+    private boolean pausedByPlayer;
     /**
-     * The list of bonus (choco) blocks in the game.
+     * Indicates whether the game was paused because the window lost the focus, and should resume
+     * when it gets it back.
      */
-    private final ArrayList<Bonus> chocoBlock = new ArrayList<Bonus>();
+    private boolean pausedByFocus;
     /**
      * The root pane of the GUI.
      */
@@ -259,38 +215,36 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
      * The label displaying the score in the GUI.
      */
     private Label scoreLabel;
-
-    // Flags
     /**
      * The label displaying the remaining heart lives in the GUI.
      */
     private Label heartLabel;
-
-    // Buttons
     private Label powerLabel;
     /**
      * The label displaying the current level in the GUI.
      */
     private Label levelLabel;
     /**
-     * Indicates whether to load the game state from a save.
+     * The label showing the frame-time percentiles of {@link #performance}.
      */
-    private boolean loadFromSave = false;
+    private Label performanceLabel;
     /**
-     * Indicates whether the gold status is active.
+     * The label showing the seed of the game, to quote in bug reports.
      */
-    private boolean isGoldStatus = false;
-
+    private Label seedLabel;
+    /**
+     * The label shown while the game is paused.
+     */
+    private Label pausedLabel;
     /**
-     * Indicates whether a heart block exists in the game.
+     * Indicates whether to load the game state from a save.
      */
-    private boolean isExistHeartBlock = false;
+    private boolean loadFromSave = false;
 
-    private SoundPlayer startPlayer;
-    private SoundPlayer chocoPlayer;
-    private SoundPlayer heartPlayer;
-    private SoundPlayer starPlayer;
-    private SoundPlayer winPlayer;
+    /**
+     * Plays the sound effects; loaded once in {@link #init()} and shared by every level.
+     */
+    private SoundEffects sounds;
 
 
     /**
@@ -313,196 +267,286 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
         launch(args);
     }
 
+    /**
+     * Starts decoding the sprites and textures on a background thread before the first level is built.
+     * <p>
+     * Called by the JavaFX launcher once the toolkit is running and before {@link #start(Stage)}.
+     * </p>
+     */
+    @Override
+    public void init() {
+        ImageCache.preload("ball.png", "goldball.png", "block.jpg", "choco.jpg", "heart.jpg", "star.jpg",
+                "bonus1.png", "bonus2.png");
+        backgrounds.prefetch(1);
+        // Up to 8 voices, 2 per effect, and at most one start of an effect every 30 ms
+        sounds = new SoundEffects(8, 2, 30);
+        String seed = System.getProperty(SEED_PROPERTY);
+        if (seed != null) {
+            try {
+                simulation.setSeed(Long.parseUnsignedLong(seed, 16));
+            } catch (NumberFormatException e) {
+                e.printStackTrace();
+            }
+        }
+        simulation.setListener(this);
+        engine.setOnAction(this);
+        engine.setFps(TICK_RATE);
+        engine.setFixedStep(true);
+    }
 
     /**
-     * Represents the main game loop where physics and game state updates occur.
+     * Writes the frame-time histograms next to the save file, and the replay if one is being
+     * recorded, when the game exits.
      * <p>
-     * game update events and updates the UI elements.
+     * Called by the JavaFX launcher when the last window is closed.
      * </p>
+     */
+    @Override
+    public void stop() {
+        sounds.stopAll();
+        engine.stop();
+        try {
+            performance.dump(new File(savePathDir, "frame-times.txt"));
+            if (recorder != null) {
+                recorder.write(new File(System.getProperty(ReplayRecorder.RECORD_PROPERTY)));
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+
+    /**
+     * Builds the scene of the game once and shows the first level in it.
      * <p>
-     * Example usage:
+     * Called by the JavaFX launcher once the toolkit is running. Every later level, restart and
+     * load reuses the same scene through {@link #showLevel()}.
      * </p>
-     * <pre>
-     * {@code
-     * engine = new GameEngine();
-     * engine.setOnAction(this);
-     * engine.setFps(120);
-     * engine.start();
-     * }
-     * </pre>
      */
-    // Start method for initializing the game
     @Override
     public void start(Stage primaryStage) throws Exception {
         this.primaryStage = primaryStage;
 
-        // Initialize the SoundPlayer with the sound file path
-        String playStartSound = "src/main/resources/start.mp3";
-        String playChocoSound = "src/main/resources/choco.mp3";
-        String playHeartSound = "src/main/resources/heart.mp3";
-        String playStarSound = "src/main/resources/star.mp3";
-        String playWinSound = "src/main/resources/levelup.mp3";
+        initScene();
+        primaryStage.setTitle("Game");
+        primaryStage.setScene(root.getScene());
+        primaryStage.show();
+        primaryStage.focusedProperty().addListener((observable, wasFocused, focused) -> focusChanged(focused));
+
+        showLevel();
+    }
+
+
+    /**
+     * Builds the nodes, buttons and scene shared by every level.
+     * <p>
+     * The root pane holds, from back to front, the background, the paddle, the ball, the labels,
+     * the buttons and the board; the style sheet is parsed once, with the scene.
+     * </p>
+     */
+    private void initScene() {
+        initBall();
+        initBreak();
+
+        root = new Pane();
+        scoreLabel = new Label();
+        levelLabel = new Label();
+        levelLabel.setTranslateY(20);
+        heartLabel = new Label();
+        heartLabel.setTranslateX(SCENE_WIDTH - 70);
+        powerLabel = new Label();
+        powerLabel.setTranslateX(SCENE_WIDTH - 80);
+        powerLabel.setTranslateY(20);
+        performanceLabel = new Label(performance.format());
+        performanceLabel.setTranslateY(40);
+        performanceLabel.setStyle("-fx-font-family: monospace; -fx-font-size: 10px;");
+        performanceLabel.setMouseTransparent(true);
+        performanceLabel.setVisible(showPerformance);
+        seedLabel = new Label();
+        seedLabel.setTranslateY(SCENE_HEIGHT - 20);
+        seedLabel.setMouseTransparent(true);
+        pausedLabel = new Label("Paused - press P to resume");
+        pausedLabel.setTranslateX(SCENE_WIDTH / 2 - 80);
+        pausedLabel.setTranslateY(SCENE_HEIGHT / 2);
+        pausedLabel.setMouseTransparent(true);
+        pausedLabel.setVisible(false);
+
+        load = new Button("Load Game");
+        newGame = new Button("Start New Game");
+        load.setTranslateX(220);
+        load.setTranslateY(300);
+        newGame.setTranslateX(220);
+        newGame.setTranslateY(340);
+        load.setOnAction(new EventHandler<ActionEvent>() {
+            @Override
+            public void handle(ActionEvent event) {
+                loadGame();
+
+                load.setVisible(false);
+                newGame.setVisible(false);
+            }
+        });
+        newGame.setOnAction(new EventHandler<ActionEvent>() {
+            @Override
+            public void handle(ActionEvent event) {
+                startEngine();
+
+                load.setVisible(false);
+                newGame.setVisible(false);
+            }
+        });
+
+        root.getChildren().addAll(backgrounds.getView(), rect, ball, scoreLabel, heartLabel, levelLabel, powerLabel,
+                seedLabel, performanceLabel, newGame, load, boardRenderer.getNode(), pausedLabel);
+
+        Scene scene = new Scene(root, SCENE_WIDTH, SCENE_HEIGHT);
+        scene.getStylesheets().add("style.css");
+        scene.setOnKeyPressed(this);
+        scene.setOnKeyReleased(this);
+        scene.addPreLayoutPulseListener(() -> {
+            long now = System.nanoTime();
+            if (pulseStartNanos != 0) {
+                performance.record(PerformanceMonitor.Phase.FRAME, pulseStartNanos);
+            }
+            pulseStartNanos = now;
+        });
+        scene.addPostLayoutPulseListener(() -> performance.record(PerformanceMonitor.Phase.PULSE, pulseStartNanos));
+
+        renderTimer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                render();
+            }
+        };
+        renderTimer.start();
+    }
 
-        startPlayer = new SoundPlayer(playStartSound);
-        chocoPlayer = new SoundPlayer(playChocoSound);
-        heartPlayer = new SoundPlayer(playHeartSound);
-        starPlayer = new SoundPlayer(playStarSound);
-        winPlayer = new SoundPlayer(playWinSound);
 
-        // Play the sound using the SoundPlayer
-        startPlayer.play();
+    /**
+     * Shows the next level, or the level just loaded from a save, in the existing scene.
+     * <p>
+     * Only the board layer is swapped; the labels, the ball and the paddle are reset in place,
+     * and the engine is started unless the level waits for the player to pick a button.
+     * </p>
+     */
+    private void showLevel() {
+        sounds.play(SoundEffects.Effect.START);
 
+        BoardRenderer.Drawing drawing;
         if (!loadFromSave) {
-            level++;
-            winPlayer.play();
+            state.level++;
+            sounds.play(SoundEffects.Effect.LEVEL_UP);
 
-            if (level == 1) {
+            if (state.level == 1) {
                 new Score().showMessage("Where am I?", this.primaryStage);
             }
-            if (level == 2) {
+            if (state.level == 2) {
                 new Score().showMessage("Looks like I am gaining more power and growing as you destroy blocks, keep going!", this.primaryStage);
             }
-            if (level == 3) {
+            if (state.level == 3) {
                 new Score().showMessage("What is this place? Am I in London? I sense something is not right...", this.primaryStage);
             }
-            if (level == 4) {
+            if (state.level == 4) {
                 new Score().showMessage("It was an ILLUSION? We are under attack! Break more blocks so I can get stronger!", this.primaryStage);
             }
-            if (level == 5) {
+            if (state.level == 5) {
                 new Score().showMessage("The city is not safe anymore, we need to go to the airport as soon as possible", this.primaryStage);
             }
-            if (level == 6) {
+            if (state.level == 6) {
                 new Score().showMessage("The airport is not damaged yet! Lets hurry up!", this.primaryStage);
             }
-            if (level == 7) {
+            if (state.level == 7) {
                 new Score().showMessage("What is that red light? Is it the aliens... we need to board a plane FAST!!", this.primaryStage);
             }
-            if (level == 8) {
+            if (state.level == 8) {
                 new Score().showMessage("What is this green light? What is happening? HELPPPP", this.primaryStage);
             }
-            if (level == 9) {
+            if (state.level == 9) {
                 new Score().showMessage("What just happened? Am I at the north pole? Those are the aurora lights! They are so pretty!! I am here for a purpose, lets go into that building and investigate further", this.primaryStage);
             }
-            if (level == 10) {
+            if (state.level == 10) {
                 new Score().showMessage("Is that a rocket? I have never flown in one of those! Looks like the aliens are catching up, I guess there is a first for everything! :)", this.primaryStage);
             }
-            if (level == 11) {
+            if (state.level == 11) {
                 new Score().showMessage("Andddddd... LIFTOFF!!! THIS IS AMAZING!!!!", this.primaryStage);
             }
-            if (level == 12) {
+            if (state.level == 12) {
                 new Score().showMessage("Wait...Wait...Its too fast...Slow Down!!", this.primaryStage);
             }
-            if (level == 13) {
+            if (state.level == 13) {
                 new Score().showMessage("Did I just blackou... woah IS THAT EARTH???", this.primaryStage);
             }
-            if (level == 14) {
+            if (state.level == 14) {
                 new Score().showMessage("This is SO BEAUTIFUL!", this.primaryStage);
             }
-            if (level == 15) {
+            if (state.level == 15) {
                 new Score().showMessage("I guess we have passed the moon now... where is this rocket taking me?", this.primaryStage);
             }
-            if (level == 16) {
+            if (state.level == 16) {
                 new Score().showMessage("What was that flash...DID EARTH JUST EXPLODE?!?!?!?!", this.primaryStage);
             }
-            if (level == 17) {
+            if (state.level == 17) {
                 new Score().showMessage("I see another ship in space! That must be the culprit! Lets follow it...but out fuel is running out! Nooo it's getting away!", this.primaryStage);
             }
-            if (level == 18) {
+            if (state.level == 18) {
                 new Score().showMessage("Hey look there is another ship in space! It must be from the same fleet! Lets try to get on that one before it flies off too!", this.primaryStage);
             }
-            if (level == 19) {
+            if (state.level == 19) {
                 new Score().showMessage("That was close...we almost didn't make it. We are in a completely different galaxy now... Is this their home?", this.primaryStage);
             }
-            if (level == 20) {
+            if (state.level == 20) {
                 new Score().showMessage("We need to avenge our fallen planet, lets follow them into the portal!", this.primaryStage);
             }
-            if (level == 21) {
+            if (state.level == 21) {
                 new Score().showMessage("Is that....god? NONO IT CANT BE!! EVERYTHING WE BELIEVED IN WAS A LIE!!", this.primaryStage);
             }
-            if (level == 22) {
+            if (state.level == 22) {
                 new Score().showMessage("You have won my child, now rest in peace knowing your people have been avenged.", this.primaryStage);
             }
-            if (level >= victoryLevel) {
+            if (state.level >= victoryLevel) {
                 new Score().showWin(this.primaryStage);
                 return;
             }
 
-            initBall();
-            initBreak();
-            initBoard();
-
-            load = new Button("Load Game");
-            newGame = new Button("Start New Game");
-            load.setTranslateX(220);
-            load.setTranslateY(300);
-            newGame.setTranslateX(220);
-            newGame.setTranslateY(340);
-
-        }
-
-
-        root = new Pane();
-        scoreLabel = new Label("Score: " + score);
-        levelLabel = new Label("Level: " + level);
-        levelLabel.setTranslateY(20);
-        heartLabel = new Label("Heart : " + heart);
-        heartLabel.setTranslateX(SCENE_WIDTH - 70);
-        powerLabel = new Label("Special : " + powerUp);
-        powerLabel.setTranslateX(SCENE_WIDTH - 80);
-        powerLabel.setTranslateY(20);
-        if (!loadFromSave) {
-            root.getChildren().addAll(rect, ball, scoreLabel, heartLabel, levelLabel, powerLabel, newGame, load);
+            LevelPipeline.PreparedLevel level = levels.take(state.seed, state.level);
+            simulation.initLevel(level.plan);
+            drawing = level.drawing;
         } else {
-            root.getChildren().addAll(rect, ball, scoreLabel, heartLabel, levelLabel, powerLabel);
+            drawing = boardRenderer.prepare(state.board);
         }
-        for (Block block : blocks) {
-            root.getChildren().add(block.rect);
-        }
-        Scene scene = new Scene(root, SCENE_WIDTH, SCENE_HEIGHT);
-        scene.getStylesheets().add("style.css");
-        scene.setOnKeyPressed(this);
 
-        primaryStage.setTitle("Game");
-        primaryStage.setScene(scene);
-        primaryStage.show();
+        scoreLabel.setText("Score: " + state.score);
+        levelLabel.setText("Level: " + state.level);
+        heartLabel.setText("Heart : " + state.heart);
+        powerLabel.setText("Special : " + state.powerUp);
+        seedLabel.setText("Seed: " + Long.toHexString(state.seed));
+        rect.setX(state.xBreak);
+        rect.setY(state.yBreak);
+        ball.setCenterX(state.xBall);
+        ball.setCenterY(state.yBall);
+        // Don't draw the last tick of the previous level over this one
+        simulation.getRenderBuffer().acquire();
+        // The gold status of the previous level ends with it, without a status change
+        goldStatusChanged(state.isGoldStatus);
+
+        backgrounds.show(state.level);
+        initBoard(drawing);
+        if (state.level + 1 < victoryLevel) {
+            levels.prepare(state.seed, state.level + 1);
+        }
 
+        input.reset();
         if (!loadFromSave) {
-            if (level > 1 && level < 18) {
-                load.setVisible(false);
-                newGame.setVisible(false);
-                engine = new GameEngine();
-                engine.setOnAction(this);
-                engine.setFps(120);
-                engine.start();
+            boolean waitForButton = state.level <= 1 || state.level >= 18;
+            load.setVisible(waitForButton);
+            newGame.setVisible(waitForButton);
+            if (!waitForButton) {
+                startEngine();
             }
-
-            load.setOnAction(new EventHandler<ActionEvent>() {
-                @Override
-                public void handle(ActionEvent event) {
-                    loadGame();
-
-                    load.setVisible(false);
-                    newGame.setVisible(false);
-                }
-            });
-
-            newGame.setOnAction(new EventHandler<ActionEvent>() {
-                @Override
-                public void handle(ActionEvent event) {
-                    engine = new GameEngine();
-                    engine.setOnAction(Main.this);
-                    engine.setFps(120);
-                    engine.start();
-
-                    load.setVisible(false);
-                    newGame.setVisible(false);
-                }
-            });
         } else {
-            engine = new GameEngine();
-            engine.setOnAction(this);
-            engine.setFps(120);
-            engine.start();
+            load.setVisible(false);
+            newGame.setVisible(false);
+            startEngine();
             loadFromSave = false;
         }
 
@@ -513,22 +557,15 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
     /**
      * Initialize the ball for the game.
      * <p>
-     * This method is responsible for setting up and initializing the game ball.
-     * It includes the creation of the ball object, setting its initial position,
-     * and configuring any other properties necessary for its functioning within the game.
+     * This method is responsible for creating the circle that draws the ball, once for the whole game.
+     * The ball's position is set up by {@link GameSimulation#initLevel()}.
      * </p>
      */
     // GUI initialization methods
     private void initBall() {
-        Random random = new Random();
-        xBall = random.nextInt(SCENE_WIDTH) + 1;
-        yBall = random.nextInt(SCENE_HEIGHT - 200) + ((level + diffLevel) * Block.getHeight()) + 15;
         ball = new Circle();
-        ball.setRadius(ballRadius);
-        ball.setFill(new ImagePattern(new Image("ball.png")));
-
-        // Set the initial ball state to stuck
-        isBallStuck = true;
+        ball.setRadius(GameSimulation.BALL_RADIUS);
+        ball.setFill(ImageCache.getPattern("ball.png"));
     }
 
 
@@ -544,64 +581,59 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
         rect = new Rectangle();
         rect.setWidth(PADDLE_WIDTH);
         rect.setHeight(PADDLE_HEIGHT);
-        rect.setX(xBreak);
-        rect.setY(yBreak);
-
-        ImagePattern pattern = new ImagePattern(new Image("block.jpg"));
+        rect.setX(state.xBreak);
+        rect.setY(state.yBreak);
 
-        rect.setFill(pattern);
+        rect.setFill(ImageCache.getPattern("block.jpg"));
     }
 
 
     /**
      * Initialize the game board.
      * <p>
-     * This method is responsible for setting up and initializing the game board.
-     * It involves the creation of blocks, determining their positions, and configuring
-     * any other properties necessary for the board's functioning within the game.
+     * This method recycles the nodes of leftover bonuses and has the {@link BoardRenderer} show the
+     * drawing of the simulation's board in place of the previous one.
      * </p>
-     */
-    private void initBoard() {
-        for (int i = 0; i < 4; i++) {
-            for (int j = 0; j < level + diffLevel; j++) {
-                int r = new Random().nextInt(500);
-                if (r % 5 == 0) {
-                    continue;
-                }
-                int type;
-                if (r % 10 == 1) {
-                    type = Block.BLOCK_CHOCO;
-                } else if (r % 10 == 2) {
-                    if (!isExistHeartBlock) {
-                        type = Block.BLOCK_HEART;
-                        isExistHeartBlock = true;
-                    } else {
-                        type = Block.BLOCK_NORMAL;
-                    }
-                } else if (r % 10 == 3) {
-                    type = Block.BLOCK_STAR;
-                } else {
-                    type = Block.BLOCK_NORMAL;
-                }
-                blocks.add(new Block(j, i, colors[r % (colors.length)], type));
-                //System.out.println("colors " + r % (colors.length));
-            }
+     *
+     * @param drawing The drawing of the board, usually prepared by the {@link LevelPipeline}.
+     */
+    private void initBoard(BoardRenderer.Drawing drawing) {
+        // Bonuses of the previous level still waiting to be drawn are gone with it
+        renderCommands.clear();
+        for (Rectangle choco : bonusNodes.values()) {
+            choco.setVisible(false);
+            bonusNodePool.release(choco);
         }
+        bonusNodes.clear();
+        boardRenderer.setDrawing(drawing);
     }
 
     /**
      * Handles key events for player input, such as moving the paddle or saving the game.
+     * Direction keys only record whether they are held; the paddle is moved by the simulation tick.
      *
      * @param event The KeyEvent triggered by user input.
      */
     @Override
     public void handle(KeyEvent event) {
+        if (event.getEventType() == KeyEvent.KEY_RELEASED) {
+            switch (event.getCode()) {
+                case LEFT:
+                    input.release(Direction.LEFT);
+                    break;
+                case RIGHT:
+                    input.release(Direction.RIGHT);
+                    break;
+            }
+            return;
+        }
+
         switch (event.getCode()) {
             case LEFT:
-                move(Direction.LEFT);
+                input.press(Direction.LEFT);
                 break;
             case RIGHT:
-                move(Direction.RIGHT);
+                input.press(Direction.RIGHT);
                 break;
             case DOWN:
                 // setPhysicsToBall();
@@ -610,808 +642,658 @@ public class Main extends Application implements EventHandler<KeyEvent>, GameEng
                 saveGame();
                 break;
             case W:
-                level++;
-                if (level == 1) {
-                    new Score().showMessage("Where am I?", this.primaryStage);
-                }
-                if (level == 2) {
-                    new Score().showMessage("Looks like I am gaining more power and growing as you destroy blocks, keep going!", this.primaryStage);
-                }
-                if (level == 3) {
-                    new Score().showMessage("What is this place? Am I in London? I sense something is not right...", this.primaryStage);
-                }
-                if (level == 4) {
-                    new Score().showMessage("It was an ILLUSION? We are under attack! Break more blocks so I can get stronger!", this.primaryStage);
-                }
-                if (level == 5) {
-                    new Score().showMessage("The city is not safe anymore, we need to go to the airport as soon as possible", this.primaryStage);
-                }
-                if (level == 6) {
-                    new Score().showMessage("The airport is not damaged yet! Lets hurry up!", this.primaryStage);
-                }
-                if (level == 7) {
-                    new Score().showMessage("What is that red light? Is it the aliens... we need to board a plane FAST!!", this.primaryStage);
-                }
-                if (level == 8) {
-                    new Score().showMessage("What is this green light? What is happening? HELPPPP", this.primaryStage);
-                }
-                if (level == 9) {
-                    new Score().showMessage("What just happened? Am I at the north pole? Those are the aurora lights! They are so pretty!! L ets go into that building and investigate further", this.primaryStage);
-                }
-                if (level == 10) {
-                    new Score().showMessage("Is that a rocket? I have never flown in one of those! Looks like the aliens are catching up, I guess there is a first for everything! :)", this.primaryStage);
-                }
-                if (level == 11) {
-                    new Score().showMessage("Andddddd... LIFTOFF!!! THIS IS AMAZING!!!!", this.primaryStage);
-                }
-                if (level == 12) {
-                    new Score().showMessage("Wait...Wait...Its too fast...Slow Down!!", this.primaryStage);
-                }
-                if (level == 13) {
-                    new Score().showMessage("Did I just blackou... woah IS THAT EARTH???", this.primaryStage);
-                }
-                if (level == 14) {
-                    new Score().showMessage("This is SO BEAUTIFUL!", this.primaryStage);
-                }
-                if (level == 15) {
-                    new Score().showMessage("I guess we have passed the moon now... where is this rocket taking me?", this.primaryStage);
-                }
-                if (level == 16) {
-                    new Score().showMessage("What was that flash...DID EARTH JUST EXPLODE?!?!?!?!", this.primaryStage);
-                }
-                if (level == 17) {
-                    new Score().showMessage("I see another ship in space! That must be the culprit! Lets follow it...but out fuel is running out! Nooo it's getting away!", this.primaryStage);
-                }
-                if (level == 18) {
-                    new Score().showMessage("Hey look there is another ship in space! It must be from the same fleet! Lets try to get on that one before it flies off too!", this.primaryStage);
-                }
-                if (level == 19) {
-                    new Score().showMessage("That was close...we almost didn't make it. We are in a completely different galaxy now... Is this their home?", this.primaryStage);
-                }
-                if (level == 20) {
-                    new Score().showMessage("We need to avenge our fallen planet, lets follow them into the portal!", this.primaryStage);
-                }
-                if (level == 21) {
-                    new Score().showMessage("Is that....god? NONO IT CANT BE!! EVERYTHING WE BELIEVED IN WAS A LIE!!", this.primaryStage);
-                }
-                if (level == 22) {
-                    new Score().showMessage("You have won my child, now rest in peace knowing your people have been avenged.", this.primaryStage);
+                if (engine.isRunning()) {
+                    // Skipped by the next tick, so a replay sees it at the same tick as the game
+                    input.trigger(GameSimulation.INPUT_SKIP_LEVEL);
+                } else {
+                    // Nothing is stepping the simulation, so the skip lands between two ticks
+                    if (recorder != null) {
+                        recorder.recordCommand(ReplayFormat.SKIP_LEVEL);
+                    }
+                    simulation.skipLevel();
                 }
                 break;
             case SPACE:
-                if (isBallStuck) {
-                    // Release the ball if it's currently stuck
-                    isBallStuck = false;
-                    // Set initial velocity or any other behavior when releasing the ball
-                    vX = 1.000;
-                    goDownBall = true;
-                }
+                // Release the ball on the next tick if it's currently stuck
+                input.trigger(GameSimulation.INPUT_LAUNCH);
                 break;
             case C:
-                if (powerUp > 0) {
-                    vX = 2.000;
-                    goDownBall = !goDownBall;
-                    powerUp--;
-                }
+                input.trigger(GameSimulation.INPUT_SPECIAL);
                 break;
             case ESCAPE:
                 restartGame();
                 break;
+            case P:
+                togglePause();
+                break;
+            case F3:
+                showPerformance = !showPerformance;
+                performanceLabel.setText(formatPerformance());
+                performanceLabel.setVisible(showPerformance);
+                break;
         }
     }
 
 
     /**
-     * Moves the paddle (break) either to the left or right based on the provided direction.
-     *
-     * @param direction The direction of movement (LEFT or RIGHT).
+     * Advance to the next level of the game.
+     * <p>
+     * This method handles the transition to the next level of the game. It pauses the engine,
+     * clears the per-level state of the simulation and builds the next level.
+     * </p>
      */
-    private void move(Direction direction) {
-        new Thread(new Runnable() {
+    private void nextLevel() {
+        Platform.runLater(new Runnable() {
             @Override
             public void run() {
-                int sleepTime = 4;
-                int maxIterations = 30;
-
-                for (int i = 0; i < maxIterations; i++) {
-                    if (direction == Direction.RIGHT && xBreak == (SCENE_WIDTH - PADDLE_WIDTH) ||
-                            direction == Direction.LEFT && xBreak == 0) {
-                        return;
-                    }
-
-                    if (direction == Direction.RIGHT) {
-                        xBreak++;
-                    } else {
-                        xBreak--;
-                    }
-
-                    centerBreakX = xBreak + HALF_PADDLE_WIDTH;
-
-                    try {
-                        Thread.sleep(sleepTime);
-                    } catch (InterruptedException e) {
-                        e.printStackTrace();
+                LevelTransitionEvent event = new LevelTransitionEvent();
+                event.begin();
+                event.fromLevel = state.level;
+                long prepared = levels.getHits();
+                try {
+                    engine.pause();
+                    if (recorder != null) {
+                        recorder.recordCommand(ReplayFormat.NEXT_LEVEL);
                     }
-
-                    if (i >= 20) {
-                        sleepTime = i;
+                    simulation.clearLevel();
+                    showLevel();
+
+                    if (event.shouldCommit()) {
+                        event.toLevel = state.level;
+                        event.blockCount = state.board.getBlockCount();
+                        event.prepared = levels.getHits() > prepared;
+                        event.commit();
                     }
+                } catch (Exception e) {
+                    e.printStackTrace();
                 }
             }
-        }).start();
+        });
     }
 
 
     /**
-     * Apply physics to the ball's movement, including collisions with the paddle and blocks.
+     * Save the current game state to a file.
      * <p>
-     * This method is responsible for updating the ball's position based on its current state and
-     * handling collisions with the paddle, walls, and blocks. It incorporates the physics
-     * logic for the ball's movement within the game.
+     * This method is responsible for saving the current state of the game to a file.
+     * It includes logic for persisting essential game parameters such as the level,
+     * score, and player's progress. The state is captured as a {@link GameSnapshot} at the
+     * next tick boundary, so the save is consistent while the simulation keeps running, and it is
+     * written by the {@link SaveService}; repeated presses while a save is queued are merged into it.
      * </p>
      */
-    private void setPhysicsToBall() {
-        //v = ((time - hitTime) / 1000.000) + 1.000;
-
-        //System.out.println("level of play is:" + level);
-        //The velocity of the ball in the y-direction.
-
-        double vY = 1.000;
-        if (level > 1) {
-            if (isBallStuck) {
-                // If the ball is stuck, update its position based on the paddle's position
-                xBall = centerBreakX;
-                yBall = yBreak - ballRadius;
-            } else {
-                // Ball physics when released
-                if (goDownBall) {
-                    yBall += vY;
-                } else {
-                    yBall -= vY;
-                }
-
-                if (goRightBall) {
-                    xBall += vX;
-                } else {
-                    xBall -= vX;
-                }
-
-                // Rest of the existing ball physics code goes here...
-
-                if (yBall <= 0) {
-                    // Handle collision with the top wall
-                    resetCollideFlags();
-                    goDownBall = true;
-                    return;
-                }
+    private void saveGame() {
+        SaveEvent event = new SaveEvent();
+        event.begin();
+        CompletableFuture<GameSnapshot> snapshot = simulation.requestSnapshot();
+        if (!engine.isRunning()) {
+            // Nothing is stepping the simulation, so the state is already at a tick boundary
+            simulation.publishSnapshot();
+        }
+        snapshot.thenAccept(captured -> saveSnapshot(captured, event));
+    }
 
-                if (yBall >= SCENE_HEIGHT) {
-                    // Handle collision with the bottom wall
-                    goDownBall = false;
-                    if (!isGoldStatus) {
-                        // TODO game over logic
-                        heart--;
-                        new Score().show((double) SCENE_WIDTH / 2, (double) SCENE_HEIGHT / 2, -1, this.primaryStage);
-
-                        if (heart == 0) {
-                            new Score().showGameOver(primaryStage, score);
-                            engine.stop();
-                        }
-                    }
-                }
+    /**
+     * Queues a snapshot with the {@link SaveService} and reports when it is on disk.
+     *
+     * @param snapshot The snapshot of the game to save.
+     * @param event    The flight recorder event of the save, committed once it is on disk.
+     */
+    private void saveSnapshot(GameSnapshot snapshot, SaveEvent event) {
+        CompletableFuture<Integer> saved = saveService.save(snapshot);
+        // A coalesced save will already be reported by the save it was merged into
+        boolean coalesced = saved == lastSave;
+        lastSave = saved;
+        saved.whenComplete((bytes, error) -> {
+            if (event.shouldCommit()) {
+                event.level = snapshot.level;
+                event.tick = snapshot.tick;
+                event.bytes = error != null ? -1 : bytes;
+                event.coalesced = coalesced;
+                event.commit();
             }
-
-        } else {
-
-
-            if (goDownBall) {
-                yBall += vY;
-            } else {
-                yBall -= vY;
+            if (coalesced) {
+                return;
             }
-
-            if (goRightBall) {
-                xBall += vX;
+            if (error != null) {
+                error.printStackTrace();
             } else {
-                xBall -= vX;
+                new Score().showMessage("Game Saved", primaryStage);
             }
+        });
+    }
 
-            if (yBall <= 0) {
-                //vX = 1.000;
-                resetCollideFlags();
-                goDownBall = true;
-                return;
-            }
-            if (yBall >= SCENE_HEIGHT) {
-                goDownBall = false;
-                if (!isGoldStatus) {
-                    //TODO gameOver
-                    heart--;
-                    isBallStuck = true;
-                    System.out.println("isBAllStuck is true.");
-                    new Score().show((double) SCENE_WIDTH / 2, (double) SCENE_HEIGHT / 2, -1, this.primaryStage);
-
-                    if (heart == 0) {
-                        new Score().showGameOver(this.primaryStage, score);
-                        engine.stop();
-                    }
 
-                }
-                //return;
-            }
-        }
-
-        // If gold ball status is active, increase score by 3 times
-        if (isGoldStatus) {
-            scoreMultiplier = 3;
-        } else {
-            scoreMultiplier = 1;
+    /**
+     * Load the game state from a saved file.
+     * <p>
+     * This method handles loading the saved game state from a file. It includes
+     * logic to restore the level, score, and other relevant game parameters.
+     * </p>
+     */
+    private void loadGame() {
+        LoadEvent event = new LoadEvent();
+        event.begin();
+        // Not stepping while the state is replaced
+        engine.pause();
+
+        if (recorder != null) {
+            // A replay starts from a known state, so the loaded game starts a new recording
+            recorder.reset();
         }
-
-        if (isBallStuck) {
-            // If the ball is stuck, update its position based on the paddle's position
-            xBall = centerBreakX;
-            yBall = yBreak - ballRadius;
+        LoadSave loadSave = new LoadSave();
+        loadSave.read();
+        state.isBallStuck = false;
+
+        state.isExistHeartBlock = loadSave.isExistHeartBlock;
+        state.isGoldStatus = loadSave.isGoldStatus;
+        state.goDownBall = loadSave.goDownBall;
+        state.goRightBall = loadSave.goRightBall;
+        state.collideToBreak = loadSave.collideToBreak;
+        state.collideToBreakAndMoveToRight = loadSave.collideToBreakAndMoveToRight;
+        state.collideToRightWall = loadSave.collideToRightWall;
+        state.collideToLeftWall = loadSave.collideToLeftWall;
+        state.collideToRightBlock = loadSave.collideToRightBlock;
+        state.collideToBottomBlock = loadSave.collideToBottomBlock;
+        state.collideToLeftBlock = loadSave.collideToLeftBlock;
+        state.collideToTopBlock = loadSave.collideToTopBlock;
+        state.level = loadSave.level;
+        state.score = loadSave.score;
+        state.heart = loadSave.heart;
+        state.destroyedBlockCount = loadSave.destroyedBlockCount;
+        state.xBall = loadSave.xBall;
+        state.yBall = loadSave.yBall;
+        state.xBreak = loadSave.xBreak;
+        state.yBreak = loadSave.yBreak;
+        state.centerBreakX = loadSave.centerBreakX;
+        state.time = loadSave.time;
+        state.goldTime = loadSave.goldTime;
+        state.vX = loadSave.vX;
+        if (loadSave.hasSeed) {
+            // Before the blocks, whose colors come from the level's streams
+            simulation.setSeed(loadSave.seed);
         }
 
-        if (yBall >= yBreak - ballRadius) {
-            //System.out.println("collide1");
-            if (xBall >= xBreak && xBall <= xBreak + PADDLE_WIDTH) {
-                hitTime = time;
-                resetCollideFlags();
-                goDownBall = false;
-
-                double relation = (xBall - centerBreakX) / ((double) PADDLE_WIDTH / 2);
-
-                if (Math.abs(relation) <= 0.3) {
-                    //vX = 0;
-                    vX = Math.abs(relation);
-                } else if (Math.abs(relation) > 0.3 && Math.abs(relation) <= 0.7) {
-                    vX = (Math.abs(relation) * 1.5) + (level / 3.500);
-                    //System.out.println("vX " + vX);
-                } else {
-                    vX = (Math.abs(relation) * 2) + (level / 3.500);
-                    //System.out.println("vX " + vX);
-                }
+        simulation.restoreBlocks(loadSave.blocks);
 
-                collideToBreakAndMoveToRight = xBall - centerBreakX > 0;
-                //System.out.println("collide2");
-            }
-        }
 
-        if (xBall >= SCENE_WIDTH) {
-            resetCollideFlags();
-            //vX = 1.000;
-            collideToRightWall = true;
-        }
-
-        if (xBall <= 0) {
-            resetCollideFlags();
-            //vX = 1.000;
-            collideToLeftWall = true;
+        try {
+            loadFromSave = true;
+            showLevel();
+        } catch (Exception e) {
+            e.printStackTrace();
         }
 
-        if (collideToBreak) {
-            goRightBall = collideToBreakAndMoveToRight;
+        if (event.shouldCommit()) {
+            event.level = state.level;
+            event.blockCount = state.board.getBlockCount();
+            event.bytes = new File(savePath).length();
+            event.commit();
         }
 
-        //Wall collide
-        if (collideToRightWall) {
-            goRightBall = false;
-        }
 
-        if (collideToLeftWall) {
-            goRightBall = true;
-        }
+    }
 
-        //Block collide
 
-        if (collideToRightBlock) {
-            goRightBall = true;
-        }
+    /**
+     * Restarts the game with initial settings.
+     * <p>
+     * Example usage:
+     * </p>
+     * <pre>
+     * {@code
+     * restartGame();
+     * }
+     * </pre>
+     */
+    public void restartGame() {
 
-        if (collideToLeftBlock) {
-            goRightBall = true;
-        }
+        try {
+            // Not stepping while the state is reset
+            engine.pause();
+            if (recorder != null) {
+                recorder.recordCommand(ReplayFormat.RESTART);
+            }
+            simulation.resetGame();
 
-        if (collideToTopBlock) {
-            goDownBall = false;
+            showLevel();
+        } catch (Exception e) {
+            e.printStackTrace();
         }
+    }
 
-        if (collideToBottomBlock) {
-            goDownBall = true;
-        }
 
+    /**
+     * Starts the engine from zero for the level just shown, clearing any pause.
+     */
+    private void startEngine() {
+        pausedByPlayer = false;
+        pausedByFocus = false;
+        pausedLabel.setVisible(false);
+        engine.reset();
+        engine.start();
     }
 
 
     /**
-     * Check the count of destroyed blocks and trigger actions accordingly.
+     * Pauses the game, or resumes it if the player paused it.
      * <p>
-     * This method examines the count of destroyed blocks and initiates specific actions
-     * based on the game's logic. It plays a role in determining whether the player has
-     * successfully cleared a level or achieved certain conditions in the game.
+     * Nothing happens while the engine is not stepping for another reason, for example between
+     * levels or after the game is over.
      * </p>
      */
-    private void checkDestroyedCount() {
-        if (destroyedBlockCount == blocks.size()) {
-            //TODO win level todo...
-            //System.out.println("You Win");
-
-            nextLevel();
+    private void togglePause() {
+        if (engine.isRunning()) {
+            engine.pause();
+            pausedByPlayer = true;
+            pausedLabel.setVisible(true);
+        } else if (pausedByPlayer) {
+            pausedByPlayer = false;
+            pausedByFocus = false;
+            pausedLabel.setVisible(false);
+            engine.resume();
         }
     }
 
 
     /**
-     * Advance to the next level of the game.
+     * Pauses the game when the window loses the focus, and resumes it when the focus comes back
+     * unless the player paused it too.
      * <p>
-     * This method handles the transition to the next level of the game. It includes
-     * the necessary logic for resetting certain game parameters, updating the UI,
-     * and initializing the game state for the new level.
+     * Keys released while the window had no focus never reach it, so the held keys are forgotten.
      * </p>
-     */
-    private void nextLevel() {
-
-        isBallStuck = true;
-
-        Platform.runLater(new Runnable() {
-            @Override
-            public void run() {
-                try {
-                    vX = 1.000;
-
-                    engine.stop();
-                    resetCollideFlags();
-                    goDownBall = true;
-
-                    isGoldStatus = false;
-                    isExistHeartBlock = false;
-
-
-                    hitTime = 0;
-                    time = 0;
-                    goldTime = 0;
-
-                    engine.stop();
-                    blocks.clear();
-                    chocoBlock.clear();
-                    destroyedBlockCount = 0;
-                    start(primaryStage);
-
-                } catch (Exception e) {
-                    e.printStackTrace();
-                }
+     *
+     * @param focused {@code true} if the window has the focus.
+     */
+    private void focusChanged(boolean focused) {
+        input.reset();
+        if (!focused) {
+            if (engine.isRunning()) {
+                engine.pause();
+                pausedByFocus = true;
+                pausedLabel.setVisible(true);
             }
-        });
+        } else if (pausedByFocus) {
+            pausedByFocus = false;
+            if (!pausedByPlayer) {
+                pausedLabel.setVisible(false);
+                engine.resume();
+            }
+        }
     }
 
 
     /**
-     * Save the current game state to a file.
+     * Ends the timing of a simulation tick.
      * <p>
-     * This method is responsible for saving the current state of the game to a file.
-     * It includes logic for persisting essential game parameters such as the level,
-     * score, and player's progress.
+     * Nothing is posted to the JavaFX thread per tick: the tick has already been published to the
+     * render buffer, and the next pulse of {@link #renderTimer} draws whichever tick is latest.
      * </p>
      */
-    private void saveGame() {
-        new Thread(new Runnable() {
-            @Override
-            public void run() {
-                new File(savePathDir).mkdirs();
-                File file = new File(savePath);
-                ObjectOutputStream outputStream = null;
-                try {
-                    outputStream = new ObjectOutputStream(new FileOutputStream(file));
-
-                    outputStream.writeInt(level);
-                    outputStream.writeInt(score);
-                    outputStream.writeInt(heart);
-                    outputStream.writeInt(destroyedBlockCount);
-
-
-                    outputStream.writeDouble(xBall);
-                    outputStream.writeDouble(yBall);
-                    outputStream.writeDouble(xBreak);
-                    outputStream.writeDouble(yBreak);
-                    outputStream.writeDouble(centerBreakX);
-                    outputStream.writeLong(time);
-                    outputStream.writeLong(goldTime);
-                    outputStream.writeDouble(vX);
-
-
-                    outputStream.writeBoolean(isExistHeartBlock);
-                    outputStream.writeBoolean(isGoldStatus);
-                    outputStream.writeBoolean(goDownBall);
-                    outputStream.writeBoolean(goRightBall);
-                    outputStream.writeBoolean(collideToBreak);
-                    outputStream.writeBoolean(collideToBreakAndMoveToRight);
-                    outputStream.writeBoolean(collideToRightWall);
-                    outputStream.writeBoolean(collideToLeftWall);
-                    outputStream.writeBoolean(collideToRightBlock);
-                    outputStream.writeBoolean(collideToBottomBlock);
-                    outputStream.writeBoolean(collideToLeftBlock);
-                    outputStream.writeBoolean(collideToTopBlock);
-
-                    ArrayList<BlockSerializable> blockSerializables = new ArrayList<BlockSerializable>();
-                    for (Block block : blocks) {
-                        if (block.isDestroyed) {
-                            continue;
-                        }
-                        blockSerializables.add(new BlockSerializable(block.row, block.column, block.blockType));
-                    }
-
-                    outputStream.writeObject(blockSerializables);
-
-                    new Score().showMessage("Game Saved", primaryStage);
-
-
-                } catch (FileNotFoundException e) {
-                    e.printStackTrace();
-                } catch (IOException e) {
-                    e.printStackTrace();
-                } finally {
-                    try {
-                        outputStream.flush();
-                        outputStream.close();
-                    } catch (IOException e) {
-                        e.printStackTrace();
-                    }
-                }
-            }
-        }).start();
-
+    @Override
+    public void onUpdate() {
+        performance.record(PerformanceMonitor.Phase.TICK, tickStartNanos);
     }
 
 
     /**
-     * Load the game state from a saved file.
+     * Render the game based on the current state.
      * <p>
-     * This method handles loading the saved game state from a file. It includes
-     * logic to restore the level, score, and other relevant game parameters.
+     * Runs once per JavaFX pulse: applies the queued scene changes, then, if a tick was published
+     * since the last pulse, moves the labels, paddle, ball and bonuses to it, and repaints the
+     * destroyed blocks.
      * </p>
      */
-    private void loadGame() {
+    private void render() {
+        long renderStart = System.nanoTime();
+        renderCommands.drain(this);
 
-        LoadSave loadSave = new LoadSave();
-        loadSave.read();
-        isBallStuck = false;
-
-        isExistHeartBlock = loadSave.isExistHeartBlock;
-        isGoldStatus = loadSave.isGoldStatus;
-        goDownBall = loadSave.goDownBall;
-        goRightBall = loadSave.goRightBall;
-        collideToBreak = loadSave.collideToBreak;
-        collideToBreakAndMoveToRight = loadSave.collideToBreakAndMoveToRight;
-        collideToRightWall = loadSave.collideToRightWall;
-        collideToLeftWall = loadSave.collideToLeftWall;
-        collideToRightBlock = loadSave.collideToRightBlock;
-        collideToBottomBlock = loadSave.collideToBottomBlock;
-        collideToLeftBlock = loadSave.collideToLeftBlock;
-        collideToTopBlock = loadSave.collideToTopBlock;
-        level = loadSave.level;
-        score = loadSave.score;
-        heart = loadSave.heart;
-        destroyedBlockCount = loadSave.destroyedBlockCount;
-        xBall = loadSave.xBall;
-        yBall = loadSave.yBall;
-        xBreak = loadSave.xBreak;
-        yBreak = loadSave.yBreak;
-        centerBreakX = loadSave.centerBreakX;
-        time = loadSave.time;
-        goldTime = loadSave.goldTime;
-        vX = loadSave.vX;
-
-        blocks.clear();
-        chocoBlock.clear();
-
-        for (BlockSerializable ser : loadSave.blocks) {
-            int r = new Random().nextInt(200);
-            blocks.add(new Block(ser.row, ser.j, colors[r % colors.length], ser.type));
-        }
+        RenderBuffer buffer = simulation.getRenderBuffer();
+        if (buffer.hasFreshFrame()) {
+            // The latest complete tick; the state itself may be halfway through the next one
+            RenderFrame frame = buffer.acquire();
 
+            scoreLabel.setText("Score: " + frame.score);
+            heartLabel.setText("Heart : " + frame.heart);
+            powerLabel.setText("Special : " + frame.powerUp);
 
-        try {
-            loadFromSave = true;
-            start(primaryStage);
-        } catch (Exception e) {
-            e.printStackTrace();
+            rect.setX(frame.xBreak);
+            rect.setY(frame.yBreak);
+            ball.setCenterX(frame.xBall);
+            ball.setCenterY(frame.yBall);
+
+            for (int i = 0; i < frame.bonusCount; i++) {
+                Rectangle choco = bonusNodes.get(frame.bonuses[i]);
+                if (choco != null) {
+                    choco.setY(frame.bonusY[i]);
+                }
+            }
         }
+        boardRenderer.render();
+
+        if (showPerformance && renderStart - overlayRefreshNanos > 250_000_000L) {
+            // Formatting every frame would show up in the very numbers it displays
+            performanceLabel.setText(formatPerformance());
+            overlayRefreshNanos = renderStart;
+        }
+        performance.record(PerformanceMonitor.Phase.RENDER, renderStart);
+    }
 
 
+    /**
+     * Formats the frame-time table of the overlay, followed by the state of the render command queue
+     * and how late the engine's pacer started the ticks.
+     *
+     * @return The text of the overlay.
+     */
+    private String formatPerformance() {
+        String text = performance.format() + String.format("commands: depth %d, peak %d, applied %d, dropped %d",
+                renderCommands.getDepth(), renderCommands.getPeakDepth(),
+                renderCommands.getAppliedCount(), renderCommands.getDroppedCount());
+        FramePacer pacer = engine.getPacer();
+        text += String.format("%npacer: late p50 %.3f, p99 %.3f, spin %.3f",
+                pacer.getLateness().getPercentile(0.50) / 1e6, pacer.getLateness().getPercentile(0.99) / 1e6,
+                pacer.getSpinNanos() / 1e6);
+        return text;
     }
 
 
     /**
-     * Reset collision flags.
+     * Initialization logic for the game engine.
      * <p>
-     * This method resets the flags used to track collisions in the game. It is called
-     * to clear collision-related state before re-evaluating collisions in the game loop.
+     * This method contains initialization logic specific to the game engine. It is
+     * called during the initialization phase of the game and may include setting
+     * up the game loop, configuring the frame rate, or other engine-related tasks.
      * </p>
      */
-    private void resetCollideFlags() {
-
-        collideToBreak = false;
-        collideToBreakAndMoveToRight = false;
-        collideToRightWall = false;
-        collideToLeftWall = false;
+    @Override
+    public void onInit() {
 
-        collideToRightBlock = false;
-        collideToBottomBlock = false;
-        collideToLeftBlock = false;
-        collideToTopBlock = false;
     }
 
 
     /**
-     * Restarts the game with initial settings.
+     * Advance the simulation by one tick.
      * <p>
-     * Example usage:
+     * This method is called during the game loop and applies the player's pending actions
+     * while stepping the ball, the bonuses and the block collisions.
      * </p>
-     * <pre>
-     * {@code
-     * restartGame();
-     * }
-     * </pre>
      */
-    public void restartGame() {
-
-        try {
-            level = 0;
-            heart = 3;
-            score = 0;
-            vX = 1.000;
-            destroyedBlockCount = 0;
-            resetCollideFlags();
-            goDownBall = true;
-
-            isGoldStatus = false;
-            isExistHeartBlock = false;
-            hitTime = 0;
-            time = 0;
-            goldTime = 0;
-
-            blocks.clear();
-            chocoBlock.clear();
-
-            start(primaryStage);
-        } catch (Exception e) {
-            e.printStackTrace();
+    @Override
+    public void onPhysicsUpdate() {
+        tickStartNanos = System.nanoTime();
+        int actions = input.poll();
+        if (recorder != null) {
+            if (!recorder.isStarted()) {
+                recorder.start(simulation);
+            }
+            recorder.recordTick(actions);
         }
+        simulation.step(actions);
+        performance.record(PerformanceMonitor.Phase.PHYSICS, tickStartNanos);
     }
 
 
     /**
-     * Update the background based on the current game state.
+     * Handle the passage of time during the game.
      * <p>
-     * This method is responsible for updating the background of the game based on
-     * the current game state. It may change the background image or color to reflect
-     * different levels or events in the game.
+     * The game time is derived from the simulation's tick count, so the engine's clock is not used.
      * </p>
+     *
+     * @param time The current time in milliseconds.
      */
-    private void updateBackground() {
-        if (level == 1) {
-            root.setStyle("-fx-background-image: url('bg1.jpg');");
-        }
-        if (level == 2) {
-            root.setStyle("-fx-background-image: url('bg2.png');");
-        }
-        if (level == 3) {
-            root.setStyle("-fx-background-image: url('bg3.jpg');");
-        }
-        if (level == 4) {
-            root.setStyle("-fx-background-image: url('bg4.jpg');");
-        }
-        if (level == 5) {
-            root.setStyle("-fx-background-image: url('bg5.jpg');");
-        }
-        if (level == 6) {
-            root.setStyle("-fx-background-image: url('bg6.jpg');");
-        }
-        if (level == 7) {
-            root.setStyle("-fx-background-image: url('bg7.png');");
-        }
-        if (level == 8) {
-            root.setStyle("-fx-background-image: url('bg8.jpg');");
-        }
-        if (level == 9) {
-            root.setStyle("-fx-background-image: url('bg9.jpg');");
-        }
-        if (level == 10) {
-            root.setStyle("-fx-background-image: url('bg10.png');");
-        }
-        if (level == 11) {
-            root.setStyle("-fx-background-image: url('bg11.png');");
-        }
-        if (level == 12) {
-            root.setStyle("-fx-background-image: url('bg12.png');");
-        }
-        if (level == 13) {
-            root.setStyle("-fx-background-image: url('bg13.jpg');");
-        }
-        if (level == 14) {
-            root.setStyle("-fx-background-image: url('bg14.png');");
-        }
-        if (level == 15) {
-            root.setStyle("-fx-background-image: url('bg15.jpg');");
-        }
-        if (level == 16) {
-            root.setStyle("-fx-background-image: url('bg16.jpg');");
-        }
-        if (level == 17) {
-            root.setStyle("-fx-background-image: url('bg17.jpg');");
-        }
-        if (level == 18) {
-            root.setStyle("-fx-background-image: url('bg18.jpg');");
-        }
-        if (level == 19) {
-            root.setStyle("-fx-background-image: url('bg19.jpg');");
+    @Override
+    public void onTime(long time) {
+    }
+
+
+    /**
+     * Hides a destroyed block, plays the sound of special blocks and reports a {@link BlockHitEvent}.
+     *
+     * @param cell    The board cell of the destroyed block.
+     * @param hitCode The face of the block that was hit.
+     */
+    @Override
+    public void onBlockDestroyed(int cell, int hitCode) {
+        BlockHitEvent event = new BlockHitEvent();
+        event.begin();
+        Board board = state.board;
+        new Score().show(board.getX(cell), board.getY(cell), 1, this.primaryStage);
+
+        boardRenderer.markDirty(cell);
+
+        int type = board.getType(cell);
+        if (type == Block.BLOCK_STAR) {
+            sounds.play(SoundEffects.Effect.STAR);
         }
-        if (level == 20) {
-            root.setStyle("-fx-background-image: url('bg20.jpg');");
+
+        if (type == Block.BLOCK_HEART) {
+            sounds.play(SoundEffects.Effect.HEART);
         }
-        if (level == 21) {
-            root.setStyle("-fx-background-image: url('bg21.jpg');");
+
+        if (event.shouldCommit()) {
+            event.level = state.level;
+            event.row = board.getRow(cell);
+            event.column = board.getColumn(cell);
+            event.type = type;
+            event.face = BlockHitEvent.faceOf(hitCode);
+            event.remainingBlocks = board.getRemainingCount();
+            event.commit();
         }
     }
 
 
     /**
-     * Update and render the game based on the current state.
-     * <p>
-     * Update UI elements based on game state.
-     * </p>
+     * Queues the drawing of a new bonus falling from a choco block.
+     *
+     * @param bonus The new bonus.
      */
     @Override
-    public void onUpdate() {
-        Platform.runLater(new Runnable() {
-            @Override
-            public void run() {
+    public void onBonusSpawned(Bonus bonus) {
+        renderCommands.postBonusSpawned(bonus);
+        sounds.play(SoundEffects.Effect.CHOCO);
+    }
 
-                scoreLabel.setText("Score: " + score);
-                heartLabel.setText("Heart : " + heart);
-                powerLabel.setText("Special : " + powerUp);
 
-                rect.setX(xBreak);
-                rect.setY(yBreak);
-                ball.setCenterX(xBall);
-                ball.setCenterY(yBall);
+    /**
+     * Draws a new bonus with a recycled rectangle.
+     *
+     * @param bonus   The new bonus.
+     * @param x       The x-coordinate it was spawned at.
+     * @param y       The y-coordinate it was spawned at.
+     * @param variant The variant of the bonus, which picks its image.
+     */
+    @Override
+    public void bonusSpawned(Bonus bonus, double x, double y, int variant) {
+        Rectangle choco = bonusNodePool.acquire();
+        choco.setX(x);
+        choco.setY(y);
+        choco.setFill(ImageCache.getPattern(variant == 0 ? "bonus1.png" : "bonus2.png"));
+        choco.setVisible(true);
+        if (choco.getParent() != root) {
+            // A new node; recycled ones are still in the root
+            root.getChildren().add(choco);
+        }
+        bonusNodes.put(bonus, choco);
+    }
 
-                for (Bonus choco : chocoBlock) {
-                    choco.choco.setY(choco.y);
-                }
-                // Update the background based on the score
-                updateBackground();
-            }
 
+    /**
+     * Hides a bonus caught by the paddle.
+     *
+     * @param bonus The caught bonus.
+     */
+    @Override
+    public void onBonusTaken(Bonus bonus) {
+        System.out.println("You Got it and +3 score for you");
+        new Score().show(bonus.x, bonus.y, 3, this.primaryStage);
+    }
 
-        });
 
+    /**
+     * Queues the removal of a bonus that was caught or has fallen off the screen.
+     *
+     * @param bonus The removed bonus.
+     */
+    @Override
+    public void onBonusDespawned(Bonus bonus) {
+        renderCommands.postBonusDespawned(bonus);
+    }
 
-        if (yBall >= Block.getPaddingTop() && yBall <= (Block.getHeight() * (level + diffLevel)) + Block.getPaddingTop()) {
-            for (final Block block : blocks) {
-                int hitCode = block.checkHitToBlock(xBall, yBall);
-                if (hitCode != Block.NO_HIT) {
-                    score += (scoreMultiplier);
-
-                    new Score().show(block.xCoordinate, block.yCoordinate, 1, this.primaryStage);
-
-                    block.rect.setVisible(false);
-                    block.isDestroyed = true;
-                    destroyedBlockCount++;
-                    //System.out.println("size is " + blocks.size());
-                    resetCollideFlags();
-
-                    if (block.blockType == Block.BLOCK_CHOCO) {
-                        final Bonus choco = new Bonus(block.row, block.column);
-                        choco.timeCreated = time;
-                        Platform.runLater(new Runnable() {
-                            @Override
-                            public void run() {
-                                root.getChildren().add(choco.choco);
-                            }
-                        });
-                        chocoPlayer.play();
-                        chocoBlock.add(choco);
-                    }
 
-                    if (block.blockType == Block.BLOCK_STAR) {
-                        goldTime = time;
-                        ball.setFill(new ImagePattern(new Image("goldball.png")));
-                        System.out.println("gold ball");
-                        root.getStyleClass().add("goldRoot");
-                        isGoldStatus = true;
-                        powerUp++;
-                        starPlayer.play();
-                    }
+    /**
+     * Hides the rectangle of a removed bonus and recycles it.
+     *
+     * @param bonus The removed bonus.
+     */
+    @Override
+    public void bonusDespawned(Bonus bonus) {
+        Rectangle choco = bonusNodes.remove(bonus);
+        if (choco != null) {
+            choco.setVisible(false);
+            bonusNodePool.release(choco);
+        }
+    }
 
-                    if (block.blockType == Block.BLOCK_HEART) {
-                        heart++;
-                        powerUp += 5;
-                        heartPlayer.play();
-                    }
 
-                    if (hitCode == Block.HIT_RIGHT) {
-                        collideToRightBlock = true;
-                    } else if (hitCode == Block.HIT_BOTTOM) {
-                        collideToBottomBlock = true;
-                    } else if (hitCode == Block.HIT_LEFT) {
-                        collideToLeftBlock = true;
-                    } else if (hitCode == Block.HIT_TOP) {
-                        collideToTopBlock = true;
-                    }
+    /**
+     * Queues the switch of the ball and the background between their normal and gold looks.
+     *
+     * @param gold {@code true} if the gold status has started.
+     */
+    @Override
+    public void onGoldStatusChanged(boolean gold) {
+        if (gold) {
+            System.out.println("gold ball");
+        }
+        renderCommands.postGoldStatus(gold);
+    }
 
-                }
 
-                //TODO hit to break and some work here....
-                //System.out.println("Break in row:" + block.row + " and column:" + block.column + " hit");
-            }
+    /**
+     * Switches the ball and the background between their normal and gold looks.
+     *
+     * @param gold {@code true} if the gold status is on.
+     */
+    @Override
+    public void goldStatusChanged(boolean gold) {
+        root.getStyleClass().remove("goldRoot");
+        if (gold) {
+            ball.setFill(ImageCache.getPattern("goldball.png"));
+            root.getStyleClass().add("goldRoot");
+        } else {
+            ball.setFill(ImageCache.getPattern("ball.png"));
         }
     }
 
 
     /**
-     * Initialization logic for the game engine.
-     * <p>
-     * This method contains initialization logic specific to the game engine. It is
-     * called during the initialization phase of the game and may include setting
-     * up the game loop, configuring the frame rate, or other engine-related tasks.
-     * </p>
+     * Reports a lost heart.
      */
     @Override
-    public void onInit() {
-
+    public void onHeartLost() {
+        new Score().show((double) SCENE_WIDTH / 2, (double) SCENE_HEIGHT / 2, -1, this.primaryStage);
     }
 
 
     /**
-     * Handle physics-related updates during the game.
-     * <p>
-     * This method is called during the game loop to handle physics-related updates.
-     * It may include calculations for the movement, collisions, or other physical
-     * interactions in the game world.
-     * </p>
+     * Shows the final score and stops the game.
      */
     @Override
-    public void onPhysicsUpdate() {
-        checkDestroyedCount();
-        setPhysicsToBall();
-
+    public void onGameOver() {
+        new Score().showGameOver(this.primaryStage, state.score);
+        engine.pause();
+    }
 
-        if (time - goldTime > 5000) {
-            ball.setFill(new ImagePattern(new Image("ball.png")));
-            root.getStyleClass().remove("goldRoot");
-            isGoldStatus = false;
-        }
 
-        for (Bonus choco : chocoBlock) {
-            if (choco.y > SCENE_HEIGHT || choco.taken) {
-                continue;
+    /**
+     * Starts building the level after a skipped one and tells its part of the story.
+     * Called on the simulation thread, so the scene is only touched from the JavaFX thread.
+     *
+     * @param level The level skipped to.
+     */
+    @Override
+    public void onLevelSkipped(int level) {
+        Platform.runLater(() -> {
+            if (level + 1 < victoryLevel) {
+                levels.prepare(state.seed, level + 1);
             }
-            if (choco.y >= yBreak && choco.y <= yBreak + PADDLE_HEIGHT && choco.x >= xBreak && choco.x <= xBreak + PADDLE_WIDTH) {
-                System.out.println("You Got it and +3 score for you");
-                choco.taken = true;
-                choco.choco.setVisible(false);
-                score += 3;
-                new Score().show(choco.x, choco.y, 3, this.primaryStage);
+            if (level == 1) {
+                new Score().showMessage("Where am I?", this.primaryStage);
             }
-            choco.y += ((time - choco.timeCreated) / 1000.000) + 1.000;
-        }
-
-        //System.out.println("time is:" + time + " goldTime is " + goldTime);
-
+            if (level == 2) {
+                new Score().showMessage("Looks like I am gaining more power and growing as you destroy blocks, keep going!", this.primaryStage);
+            }
+            if (level == 3) {
+                new Score().showMessage("What is this place? Am I in London? I sense something is not right...", this.primaryStage);
+            }
+            if (level == 4) {
+                new Score().showMessage("It was an ILLUSION? We are under attack! Break more blocks so I can get stronger!", this.primaryStage);
+            }
+            if (level == 5) {
+                new Score().showMessage("The city is not safe anymore, we need to go to the airport as soon as possible", this.primaryStage);
+            }
+            if (level == 6) {
+                new Score().showMessage("The airport is not damaged yet! Lets hurry up!", this.primaryStage);
+            }
+            if (level == 7) {
+                new Score().showMessage("What is that red light? Is it the aliens... we need to board a plane FAST!!", this.primaryStage);
+            }
+            if (level == 8) {
+                new Score().showMessage("What is this green light? What is happening? HELPPPP", this.primaryStage);
+            }
+            if (level == 9) {
+                new Score().showMessage("What just happened? Am I at the north pole? Those are the aurora lights! They are so pretty!! L ets go into that building and investigate further", this.primaryStage);
+            }
+            if (level == 10) {
+                new Score().showMessage("Is that a rocket? I have never flown in one of those! Looks like the aliens are catching up, I guess there is a first for everything! :)", this.primaryStage);
+            }
+            if (level == 11) {
+                new Score().showMessage("Andddddd... LIFTOFF!!! THIS IS AMAZING!!!!", this.primaryStage);
+            }
+            if (level == 12) {
+                new Score().showMessage("Wait...Wait...Its too fast...Slow Down!!", this.primaryStage);
+            }
+            if (level == 13) {
+                new Score().showMessage("Did I just blackou... woah IS THAT EARTH???", this.primaryStage);
+            }
+            if (level == 14) {
+                new Score().showMessage("This is SO BEAUTIFUL!", this.primaryStage);
+            }
+            if (level == 15) {
+                new Score().showMessage("I guess we have passed the moon now... where is this rocket taking me?", this.primaryStage);
+            }
+            if (level == 16) {
+                new Score().showMessage("What was that flash...DID EARTH JUST EXPLODE?!?!?!?!", this.primaryStage);
+            }
+            if (level == 17) {
+                new Score().showMessage("I see another ship in space! That must be the culprit! Lets follow it...but out fuel is running out! Nooo it's getting away!", this.primaryStage);
+            }
+            if (level == 18) {
+                new Score().showMessage("Hey look there is another ship in space! It must be from the same fleet! Lets try to get on that one before it flies off too!", this.primaryStage);
+            }
+            if (level == 19) {
+                new Score().showMessage("That was close...we almost didn't make it. We are in a completely different galaxy now... Is this their home?", this.primaryStage);
+            }
+            if (level == 20) {
+                new Score().showMessage("We need to avenge our fallen planet, lets follow them into the portal!", this.primaryStage);
+            }
+            if (level == 21) {
+                new Score().showMessage("Is that....god? NONO IT CANT BE!! EVERYTHING WE BELIEVED IN WAS A LIE!!", this.primaryStage);
+            }
+            if (level == 22) {
+                new Score().showMessage("You have won my child, now rest in peace knowing your people have been avenged.", this.primaryStage);
+            }
+        });
     }
 
 
     /**
-     * Handle the passage of time during the game.
-     *
-     * @param time The current time in milliseconds.
+     * Moves on to the next level once the board has been cleared.
      */
     @Override
-    public void onTime(long time) {
-        this.time = time;
+    public void onLevelCleared() {
+        nextLevel();
     }
 
 }
@@ -0,0 +1,100 @@
+package brickGame;
+
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@code NodeBoardRenderer} class draws every block as its own {@link Rectangle} node.
+ * <p>
+ * Destroyed blocks are hidden, so the scene graph keeps one node per block placed for the whole
+ * level. This is the original way the board was drawn and the default renderer.
+ * </p>
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>
+ * {@code
+ * BoardRenderer renderer = new NodeBoardRenderer(colors);
+ * renderer.setBoard(state.board);
+ * }
+ * </pre>
+ */
+public class NodeBoardRenderer extends BoardRenderer {
+    /**
+     * The group holding the block rectangles.
+     */
+    private final Group group = new Group();
+    /**
+     * The rectangle drawn for each cell of the board, or {@code null} for empty cells.
+     */
+    private Rectangle[] nodes = new Rectangle[0];
+
+    /**
+     * Constructs a {@code NodeBoardRenderer}.
+     *
+     * @param palette The block colors, indexed by {@link Board#getColor(int)}.
+     */
+    public NodeBoardRenderer(Color[] palette) {
+        super(palette);
+    }
+
+    @Override
+    public Node getNode() {
+        return group;
+    }
+
+    /**
+     * The rectangles of a board, made before they are added to the group.
+     */
+    private static class NodeDrawing extends Drawing {
+        private final Rectangle[] nodes;
+        private final List<Rectangle> children = new ArrayList<Rectangle>();
+
+        private NodeDrawing(Board board) {
+            super(board);
+            nodes = new Rectangle[board.getCellCount()];
+        }
+    }
+
+    @Override
+    protected Drawing draw(Board board) {
+        NodeDrawing drawing = new NodeDrawing(board);
+        for (int cell = board.nextLive(0); cell >= 0; cell = board.nextLive(cell + 1)) {
+            Rectangle blockRect = new Rectangle();
+            blockRect.setWidth(Block.getWidth());
+            blockRect.setHeight(Block.getHeight());
+            blockRect.setX(board.getX(cell));
+            blockRect.setY(board.getY(cell));
+
+            String image = imageOf(board.getType(cell));
+            if (image != null) {
+                blockRect.setFill(ImageCache.getPattern(image));
+            } else {
+                blockRect.setFill(palette[board.getColor(cell)]);
+            }
+
+            drawing.nodes[cell] = blockRect;
+            drawing.children.add(blockRect);
+        }
+        return drawing;
+    }
+
+    @Override
+    protected void show(Drawing drawing) {
+        NodeDrawing nodeDrawing = (NodeDrawing) drawing;
+        nodes = nodeDrawing.nodes;
+        group.getChildren().setAll(nodeDrawing.children);
+    }
+
+    @Override
+    protected void repaint(int cell) {
+        if (nodes[cell] != null) {
+            nodes[cell].setVisible(board.isLive(cell));
+        }
+    }
+}
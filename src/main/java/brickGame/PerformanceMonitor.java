@@ -0,0 +1,157 @@
+package brickGame;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The {@code PerformanceMonitor} class keeps one {@link FrameHistogram} per phase of a frame, so a
+ * stutter can be traced to the phase that blew its budget.
+ * <p>
+ * The simulation phases are measured on the simulation thread and budgeted to one tick; the
+ * JavaFX phases are measured on the application thread and budgeted to one 60 Hz frame.
+ * {@link #format()} renders the table shown by the performance overlay, and {@link #dump(File)}
+ * writes the same table to a file when the game exits.
+ * </p>
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>
+ * {@code
+ * PerformanceMonitor monitor = new PerformanceMonitor(120);
+ * long start = System.nanoTime();
+ * simulation.step(input.poll());
+ * monitor.record(PerformanceMonitor.Phase.PHYSICS, start);
+ * overlay.setText(monitor.format());
+ * }
+ * </pre>
+ */
+public class PerformanceMonitor {
+    /**
+     * The budget of a phase run on the JavaFX application thread: one frame at 60 Hz.
+     */
+    public static final long FRAME_BUDGET_NANOS = 1_000_000_000L / 60;
+
+    /**
+     * The measured phases of a frame.
+     */
+    public enum Phase {
+        /**
+         * A whole simulation tick, from the start of {@code onPhysicsUpdate} to the end of {@code onUpdate}.
+         */
+        TICK("tick", false),
+        /**
+         * {@code onPhysicsUpdate}: input, paddle, ball, bonuses and collisions.
+         */
+        PHYSICS("physics", false),
+        /**
+         * The render pass run by the animation timer on every JavaFX pulse: queued scene changes
+         * and the latest tick.
+         */
+        RENDER("render", true),
+        /**
+         * The CSS and layout passes of a JavaFX pulse, between the pre- and post-layout pulse listeners.
+         */
+        PULSE("pulse", true),
+        /**
+         * The time between the starts of two JavaFX pulses; an overrun is a dropped frame.
+         */
+        FRAME("frame", true);
+
+        private final String label;
+        private final boolean fxThread;
+
+        Phase(String label, boolean fxThread) {
+            this.label = label;
+            this.fxThread = fxThread;
+        }
+    }
+
+    private final Map<Phase, FrameHistogram> histograms = new EnumMap<Phase, FrameHistogram>(Phase.class);
+
+    /**
+     * Constructs a {@code PerformanceMonitor} with empty histograms.
+     *
+     * @param tickRate The number of simulation ticks per second, which sets the budget of the
+     *                 simulation phases.
+     *                 <p>
+     *                 Example usage:
+     *                 </p>
+     *                 <pre>
+     *                 {@code
+     *                 PerformanceMonitor monitor = new PerformanceMonitor(120);
+     *                 }
+     *                 </pre>
+     */
+    public PerformanceMonitor(int tickRate) {
+        long tickBudget = 1_000_000_000L / tickRate;
+        for (Phase phase : Phase.values()) {
+            histograms.put(phase, new FrameHistogram(phase.fxThread ? FRAME_BUDGET_NANOS : tickBudget));
+        }
+    }
+
+    /**
+     * Records a phase that started at the given time and ends now.
+     *
+     * @param phase      The phase.
+     * @param startNanos The {@link System#nanoTime()} at which the phase started.
+     */
+    public void record(Phase phase, long startNanos) {
+        histograms.get(phase).record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Gets the histogram of a phase.
+     *
+     * @param phase The phase.
+     * @return The histogram.
+     */
+    public FrameHistogram getHistogram(Phase phase) {
+        return histograms.get(phase);
+    }
+
+    /**
+     * Formats the p50, p99, maximum and overruns of every phase, one line per phase, in milliseconds.
+     *
+     * @return The table.
+     */
+    public String format() {
+        StringBuilder text = new StringBuilder(String.format("%-8s %7s %7s %7s %7s%n", "phase", "p50", "p99", "max", "over"));
+        for (Phase phase : Phase.values()) {
+            FrameHistogram histogram = histograms.get(phase);
+            text.append(String.format("%-8s %7.2f %7.2f %7.2f %7d%n", phase.label,
+                    histogram.getPercentile(0.50) / 1e6,
+                    histogram.getPercentile(0.99) / 1e6,
+                    histogram.getMaxNanos() / 1e6,
+                    histogram.getOverruns()));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Writes the table of {@link #format()} to a file, with the sample count and budget of every phase.
+     *
+     * @param file The file to write, replaced if it exists.
+     * @throws IOException If the file cannot be written.
+     */
+    public void dump(File file) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            Files.createDirectories(parent.toPath());
+        }
+        try (PrintWriter out = new PrintWriter(file, StandardCharsets.UTF_8.name())) {
+            out.println("Frame times in milliseconds");
+            out.print(format());
+            out.println();
+            for (Phase phase : Phase.values()) {
+                FrameHistogram histogram = histograms.get(phase);
+                out.printf("%-8s samples=%d mean=%.3f budget=%.3f%n", phase.label, histogram.getCount(),
+                        histogram.getMeanNanos() / 1e6, histogram.getBudgetNanos() / 1e6);
+            }
+        }
+    }
+}
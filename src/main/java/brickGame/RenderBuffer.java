@@ -0,0 +1,120 @@
+package brickGame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@code RenderBuffer} class hands {@link RenderFrame}s from the simulation thread to the
+ * JavaFX application thread without locks and without allocating.
+ * <p>
+ * It is a triple buffer. The writer owns the back frame and the reader owns the front frame; the
+ * third frame is the latest one published. {@link #publish()} swaps the back frame with the
+ * published one in a single atomic exchange, and {@link #acquire()} swaps the front frame with it
+ * if something new was published since. Each side only ever touches the frame it owns, so the
+ * reader always sees a complete tick, never a mix of two, and the writer never waits for the
+ * reader. Frames the reader was too slow to see are simply overwritten.
+ * </p>
+ * <p>
+ * There must be a single writer thread and a single reader thread.
+ * </p>
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>
+ * {@code
+ * RenderBuffer buffer = new RenderBuffer();
+ * // Simulation thread, after each tick
+ * buffer.getBackFrame().capture(state);
+ * buffer.publish();
+ * // JavaFX application thread
+ * RenderFrame frame = buffer.acquire();
+ * }
+ * </pre>
+ */
+public class RenderBuffer {
+    /**
+     * The flag set on {@link #published} when it holds a frame the reader has not acquired yet.
+     */
+    private static final int FRESH = 4;
+    /**
+     * The mask of the frame index in {@link #published}.
+     */
+    private static final int INDEX = 3;
+
+    private final RenderFrame[] frames = {new RenderFrame(), new RenderFrame(), new RenderFrame()};
+    /**
+     * The index of the latest published frame, with the {@link #FRESH} flag.
+     */
+    private final AtomicInteger published = new AtomicInteger(1);
+    /**
+     * The index of the frame being written; only used on the writer thread.
+     */
+    private int back = 0;
+    /**
+     * The index of the frame being read; only used on the reader thread.
+     */
+    private int front = 2;
+
+    private long publishedCount;
+    private volatile long acquiredCount;
+
+    /**
+     * Gets the frame to fill before the next {@link #publish()}. Call this on the writer thread.
+     *
+     * @return The back frame.
+     */
+    public RenderFrame getBackFrame() {
+        return frames[back];
+    }
+
+    /**
+     * Publishes the back frame as the latest one and takes over the previous latest frame as the
+     * new back frame. Call this on the writer thread.
+     */
+    public void publish() {
+        back = published.getAndSet(back | FRESH) & INDEX;
+        publishedCount++;
+    }
+
+    /**
+     * Gets the latest published frame. The frame stays unchanged until the next call. Call this on
+     * the reader thread.
+     *
+     * @return The latest complete frame, the same as the previous call if nothing was published
+     * since, or an empty frame if nothing was ever published.
+     */
+    public RenderFrame acquire() {
+        if ((published.get() & FRESH) != 0) {
+            front = published.getAndSet(front) & INDEX;
+            acquiredCount++;
+        }
+        return frames[front];
+    }
+
+    /**
+     * Checks whether a frame was published since the last {@link #acquire()}.
+     *
+     * @return {@code true} if {@link #acquire()} would return a new frame.
+     */
+    public boolean hasFreshFrame() {
+        return (published.get() & FRESH) != 0;
+    }
+
+    /**
+     * Gets the number of frames published; only meaningful on the writer thread.
+     *
+     * @return The published count.
+     */
+    public long getPublishedCount() {
+        return publishedCount;
+    }
+
+    /**
+     * Gets the number of new frames acquired by the reader. The difference with the published
+     * count is the number of ticks that were never drawn.
+     *
+     * @return The acquired count.
+     */
+    public long getAcquiredCount() {
+        return acquiredCount;
+    }
+}
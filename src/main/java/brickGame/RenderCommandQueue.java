@@ -0,0 +1,254 @@
+package brickGame;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The {@code RenderCommandQueue} class carries the scene changes the simulation asks for to the
+ * JavaFX application thread, where they are applied once per pulse.
+ * <p>
+ * The simulation thread posts commands as game events happen; the animation timer drains them all
+ * at the start of each pulse and drops the redundant ones before touching the scene graph: only
+ * the last gold status change counts, and a bonus that was spawned and despawned between two
+ * pulses is never shown at all. The work of a pulse is therefore bounded by the number of bonuses
+ * on screen, however far the JavaFX thread fell behind, and nothing piles up in the
+ * {@code Platform.runLater} queue. The queue depth and the number of dropped commands are kept
+ * for the performance overlay.
+ * </p>
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>
+ * {@code
+ * RenderCommandQueue commands = new RenderCommandQueue();
+ * // Simulation thread
+ * commands.postGoldStatus(true);
+ * // JavaFX application thread, once per pulse
+ * commands.drain(handler);
+ * }
+ * </pre>
+ */
+public class RenderCommandQueue {
+    /**
+     * Applies the commands to the scene, on the JavaFX application thread.
+     */
+    public interface Handler {
+        /**
+         * Shows a new falling bonus.
+         *
+         * @param bonus   The bonus, which identifies its node until it is despawned.
+         * @param x       The x-coordinate it was spawned at.
+         * @param y       The y-coordinate it was spawned at.
+         * @param variant The variant of the bonus, which picks its image.
+         */
+        void bonusSpawned(Bonus bonus, double x, double y, int variant);
+
+        /**
+         * Removes a bonus that was caught or fell off the screen.
+         *
+         * @param bonus The bonus.
+         */
+        void bonusDespawned(Bonus bonus);
+
+        /**
+         * Switches between the normal and the gold look.
+         *
+         * @param gold {@code true} if the gold status is on.
+         */
+        void goldStatusChanged(boolean gold);
+    }
+
+    /**
+     * The kinds of command.
+     */
+    private enum Kind {
+        BONUS_SPAWNED, BONUS_DESPAWNED, GOLD_STATUS
+    }
+
+    /**
+     * One posted command with its arguments, copied when it was posted.
+     */
+    private static final class Command {
+        private final Kind kind;
+        private final Bonus bonus;
+        private final double x;
+        private final double y;
+        private final int variant;
+        private final boolean gold;
+
+        private Command(Kind kind, Bonus bonus, double x, double y, int variant, boolean gold) {
+            this.kind = kind;
+            this.bonus = bonus;
+            this.x = x;
+            this.y = y;
+            this.variant = variant;
+            this.gold = gold;
+        }
+    }
+
+    /**
+     * The commands posted since the last drain. Guarded by {@code this}.
+     */
+    private ArrayList<Command> posted = new ArrayList<Command>();
+    /**
+     * The batch being applied, swapped with {@link #posted} on every drain; only used on the
+     * JavaFX application thread.
+     */
+    private ArrayList<Command> draining = new ArrayList<Command>();
+    /**
+     * The spawns of the batch being applied that might still be cancelled by a despawn.
+     */
+    private final Map<Bonus, Command> spawns = new IdentityHashMap<Bonus, Command>();
+
+    private int peakDepth;
+    private long postedCount;
+    private long appliedCount;
+    private long droppedCount;
+
+    /**
+     * Posts a new falling bonus. Can be called from any thread.
+     *
+     * @param bonus The bonus.
+     */
+    public void postBonusSpawned(Bonus bonus) {
+        post(new Command(Kind.BONUS_SPAWNED, bonus, bonus.x, bonus.y, bonus.variant, false));
+    }
+
+    /**
+     * Posts the removal of a bonus. Can be called from any thread.
+     *
+     * @param bonus The bonus.
+     */
+    public void postBonusDespawned(Bonus bonus) {
+        post(new Command(Kind.BONUS_DESPAWNED, bonus, 0, 0, 0, false));
+    }
+
+    /**
+     * Posts a change of the gold status. Can be called from any thread.
+     *
+     * @param gold {@code true} if the gold status has started.
+     */
+    public void postGoldStatus(boolean gold) {
+        post(new Command(Kind.GOLD_STATUS, null, 0, 0, 0, gold));
+    }
+
+    private synchronized void post(Command command) {
+        posted.add(command);
+        postedCount++;
+        peakDepth = Math.max(peakDepth, posted.size());
+    }
+
+    /**
+     * Applies every command posted so far, without the redundant ones. Call this on the JavaFX
+     * application thread.
+     *
+     * @param handler The handler changing the scene.
+     */
+    public void drain(Handler handler) {
+        synchronized (this) {
+            if (posted.isEmpty()) {
+                return;
+            }
+            ArrayList<Command> batch = posted;
+            posted = draining;
+            draining = batch;
+        }
+
+        Command gold = null;
+        int applied = 0;
+        int dropped = 0;
+        for (Command command : draining) {
+            switch (command.kind) {
+                case BONUS_SPAWNED:
+                    spawns.put(command.bonus, command);
+                    break;
+                case BONUS_DESPAWNED:
+                    if (spawns.remove(command.bonus) != null) {
+                        // Spawned and despawned within one pulse, so it would never have been drawn
+                        dropped += 2;
+                    } else {
+                        handler.bonusDespawned(command.bonus);
+                        applied++;
+                    }
+                    break;
+                case GOLD_STATUS:
+                    if (gold != null) {
+                        dropped++;
+                    }
+                    gold = command;
+                    break;
+            }
+        }
+        for (Command spawn : spawns.values()) {
+            handler.bonusSpawned(spawn.bonus, spawn.x, spawn.y, spawn.variant);
+            applied++;
+        }
+        if (gold != null) {
+            handler.goldStatusChanged(gold.gold);
+            applied++;
+        }
+        spawns.clear();
+        draining.clear();
+
+        synchronized (this) {
+            appliedCount += applied;
+            droppedCount += dropped;
+        }
+    }
+
+    /**
+     * Discards every command posted so far, for example because the level they belong to was
+     * replaced. Call this on the JavaFX application thread.
+     */
+    public synchronized void clear() {
+        droppedCount += posted.size();
+        posted.clear();
+    }
+
+    /**
+     * Gets the number of commands waiting for the next pulse.
+     *
+     * @return The queue depth.
+     */
+    public synchronized int getDepth() {
+        return posted.size();
+    }
+
+    /**
+     * Gets the largest number of commands that were waiting at once.
+     *
+     * @return The peak queue depth.
+     */
+    public synchronized int getPeakDepth() {
+        return peakDepth;
+    }
+
+    /**
+     * Gets the number of commands posted.
+     *
+     * @return The posted count.
+     */
+    public synchronized long getPostedCount() {
+        return postedCount;
+    }
+
+    /**
+     * Gets the number of commands applied to the scene.
+     *
+     * @return The applied count.
+     */
+    public synchronized long getAppliedCount() {
+        return appliedCount;
+    }
+
+    /**
+     * Gets the number of commands dropped because a later one made them redundant, or because
+     * they were cleared.
+     *
+     * @return The dropped count.
+     */
+    public synchronized long getDroppedCount() {
+        return droppedCount;
+    }
+}
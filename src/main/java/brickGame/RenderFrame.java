@@ -0,0 +1,99 @@
+package brickGame;
+
+import java.util.List;
+
+/**
+ * The {@code RenderFrame} class holds what the user interface draws of one simulation tick: the
+ * labels, the ball, the paddle and the falling bonuses.
+ * <p>
+ * Frames are recycled by a {@link RenderBuffer}: the simulation thread fills one with
+ * {@link #capture(GameState)} after every tick and publishes it, and the JavaFX application thread
+ * reads the latest published one. A frame is only ever touched by one of the two threads at a
+ * time, so its fields are plain and it never changes while it is being drawn.
+ * </p>
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>
+ * {@code
+ * RenderFrame frame = simulation.getRenderBuffer().acquire();
+ * ball.setCenterX(frame.xBall);
+ * ball.setCenterY(frame.yBall);
+ * }
+ * </pre>
+ */
+public class RenderFrame {
+    /**
+     * The tick of the level the frame was captured at.
+     */
+    public long tick;
+    /**
+     * The current level of the game.
+     */
+    public int level;
+    /**
+     * The score in the game.
+     */
+    public int score;
+    /**
+     * The number of remaining heart lives.
+     */
+    public int heart;
+    /**
+     * The number of special moves left.
+     */
+    public int powerUp;
+    /**
+     * The position of the ball.
+     */
+    public double xBall;
+    public double yBall;
+    /**
+     * The position of the paddle (break).
+     */
+    public double xBreak;
+    public double yBreak;
+    /**
+     * The number of falling bonuses; only the first {@code bonusCount} entries of the bonus arrays are used.
+     */
+    public int bonusCount;
+    /**
+     * The falling bonuses, which identify their nodes, and their heights at this tick.
+     */
+    public Bonus[] bonuses = new Bonus[16];
+    public double[] bonusY = new double[16];
+
+    /**
+     * Copies the drawn parts of a state into this frame. Call this on the simulation thread,
+     * between two ticks.
+     *
+     * @param state The state to copy.
+     */
+    public void capture(GameState state) {
+        tick = state.tick;
+        level = state.level;
+        score = state.score;
+        heart = state.heart;
+        powerUp = state.powerUp;
+        xBall = state.xBall;
+        yBall = state.yBall;
+        xBreak = state.xBreak;
+        yBreak = state.yBreak;
+
+        List<Bonus> falling = state.chocoBlock;
+        bonusCount = falling.size();
+        if (bonuses.length < bonusCount) {
+            bonuses = new Bonus[Math.max(bonusCount, bonuses.length * 2)];
+            bonusY = new double[bonuses.length];
+        }
+        for (int i = 0; i < bonusCount; i++) {
+            Bonus bonus = falling.get(i);
+            bonuses[i] = bonus;
+            bonusY[i] = bonus.y;
+        }
+        for (int i = bonusCount; i < bonuses.length && bonuses[i] != null; i++) {
+            // Don't keep recycled bonuses reachable from an old frame
+            bonuses[i] = null;
+        }
+    }
+}
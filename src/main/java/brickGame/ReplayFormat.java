@@ -0,0 +1,321 @@
+package brickGame;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * The {@code ReplayFormat} class holds the encoding shared by {@link ReplayRecorder} and
+ * {@link ReplayPlayer}.
+ * <p>
+ * A replay starts with a header and the complete simulation state at the tick the recording
+ * started, followed by a stream of events. Integers are unsigned LEB128 varints, zig-zag encoded
+ * when they can be negative, and doubles are their raw IEEE 754 bits in 8 little-endian bytes:
+ * </p>
+ * <pre>
+ * field          encoding
+ * magic          4 bytes "BRKR"
+ * version        varint ({@link #VERSION})
+ * tick rate      varint, ticks per second
+ * seed           8 bytes, the seed of the game, whose level streams restart when the recording starts
+ * state          every field of the {@link GameState}, the live cells of its board and its bonuses
+ * events         until an {@link #END} event:
+ *                  varint ticks since the previous event
+ *                  varint (input &lt;&lt; 3 | kind)
+ * </pre>
+ * <p>
+ * An {@link #INPUT} event sets the input mask passed to every following tick until the next input
+ * event; only changes are stored. The other kinds are the level changes that {@link Main} makes
+ * between ticks. Events stamped with a tick are applied before that tick is stepped, in file order.
+ * </p>
+ */
+public final class ReplayFormat {
+    /**
+     * The magic number at the start of every replay, the bytes "BRKR" read as a little-endian int.
+     */
+    public static final int MAGIC = 0x524B5242;
+    /**
+     * The format version written by this class.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The input mask of the following ticks changed.
+     */
+    public static final int INPUT = 0;
+    /**
+     * The level was cleared and the next one built.
+     */
+    public static final int NEXT_LEVEL = 1;
+    /**
+     * The level number was skipped forward with the 'W' key while the game was paused, without rebuilding
+     * the board. While the game runs, the skip is the {@link GameSimulation#INPUT_SKIP_LEVEL} input flag instead.
+     */
+    public static final int SKIP_LEVEL = 2;
+    /**
+     * The game was restarted with the 'ESC' key.
+     */
+    public static final int RESTART = 3;
+    /**
+     * The recording ended.
+     */
+    public static final int END = 4;
+
+    private static final int KIND_BITS = 3;
+    private static final int KIND_MASK = (1 << KIND_BITS) - 1;
+
+    private static final int FLAG_BALL_STUCK = 1;
+    private static final int FLAG_GO_DOWN_BALL = 1 << 1;
+    private static final int FLAG_GO_RIGHT_BALL = 1 << 2;
+    private static final int FLAG_COLLIDE_TO_BREAK = 1 << 3;
+    private static final int FLAG_COLLIDE_TO_BREAK_AND_MOVE_TO_RIGHT = 1 << 4;
+    private static final int FLAG_COLLIDE_TO_RIGHT_WALL = 1 << 5;
+    private static final int FLAG_COLLIDE_TO_LEFT_WALL = 1 << 6;
+    private static final int FLAG_COLLIDE_TO_RIGHT_BLOCK = 1 << 7;
+    private static final int FLAG_COLLIDE_TO_BOTTOM_BLOCK = 1 << 8;
+    private static final int FLAG_COLLIDE_TO_LEFT_BLOCK = 1 << 9;
+    private static final int FLAG_COLLIDE_TO_TOP_BLOCK = 1 << 10;
+    private static final int FLAG_GOLD_STATUS = 1 << 11;
+    private static final int FLAG_EXIST_HEART_BLOCK = 1 << 12;
+    private static final int FLAG_LEVEL_CLEARED = 1 << 13;
+
+    private ReplayFormat() {
+    }
+
+    /**
+     * Packs an event into the varint that follows its tick delta.
+     *
+     * @param kind  One of {@link #INPUT}, {@link #NEXT_LEVEL}, {@link #SKIP_LEVEL}, {@link #RESTART} or {@link #END}.
+     * @param input The input mask of an {@link #INPUT} event, 0 for the other kinds.
+     * @return The packed event.
+     */
+    static long packEvent(int kind, int input) {
+        return (long) input << KIND_BITS | kind;
+    }
+
+    /**
+     * Gets the kind of a packed event.
+     */
+    static int kindOf(long event) {
+        return (int) (event & KIND_MASK);
+    }
+
+    /**
+     * Gets the input mask of a packed {@link #INPUT} event.
+     */
+    static int inputOf(long event) {
+        return (int) (event >>> KIND_BITS);
+    }
+
+    /**
+     * Writes a non-negative value as an unsigned LEB128 varint.
+     */
+    static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    /**
+     * Reads an unsigned LEB128 varint.
+     */
+    static long readVarint(ByteBuffer in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in replay");
+    }
+
+    /**
+     * Writes a value that may be negative as a zig-zag varint.
+     */
+    static void writeSigned(ByteArrayOutputStream out, long value) {
+        writeVarint(out, (value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Reads a zig-zag varint.
+     */
+    static long readSigned(ByteBuffer in) throws IOException {
+        long value = readVarint(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Writes 8 bytes, least significant first.
+     */
+    static void writeFixed64(ByteArrayOutputStream out, long value) {
+        for (int i = 0; i < 8; i++) {
+            out.write((int) (value >>> (8 * i)));
+        }
+    }
+
+    private static void writeDouble(ByteArrayOutputStream out, double value) {
+        writeFixed64(out, Double.doubleToRawLongBits(value));
+    }
+
+    private static double readDouble(ByteBuffer in) {
+        return Double.longBitsToDouble(in.getLong());
+    }
+
+    /**
+     * Writes every field of a game state, including its board and falling bonuses.
+     *
+     * @param out   The stream to write to.
+     * @param state The state, read at a tick boundary.
+     */
+    static void writeState(ByteArrayOutputStream out, GameState state) {
+        writeSigned(out, state.level);
+        writeSigned(out, state.score);
+        writeSigned(out, state.heart);
+        writeSigned(out, state.powerUp);
+        writeSigned(out, state.scoreMultiplier);
+        writeSigned(out, state.destroyedBlockCount);
+
+        writeDouble(out, state.xBall);
+        writeDouble(out, state.yBall);
+        writeDouble(out, state.prevXBall);
+        writeDouble(out, state.prevYBall);
+        writeDouble(out, state.vX);
+        writeDouble(out, state.xBreak);
+        writeDouble(out, state.yBreak);
+        writeDouble(out, state.centerBreakX);
+        writeDouble(out, state.paddleVelocity);
+
+        writeVarint(out, state.tick);
+        writeVarint(out, state.time);
+        writeVarint(out, state.hitTime);
+        writeVarint(out, state.goldTime);
+
+        int flags = 0;
+        flags |= state.isBallStuck ? FLAG_BALL_STUCK : 0;
+        flags |= state.goDownBall ? FLAG_GO_DOWN_BALL : 0;
+        flags |= state.goRightBall ? FLAG_GO_RIGHT_BALL : 0;
+        flags |= state.collideToBreak ? FLAG_COLLIDE_TO_BREAK : 0;
+        flags |= state.collideToBreakAndMoveToRight ? FLAG_COLLIDE_TO_BREAK_AND_MOVE_TO_RIGHT : 0;
+        flags |= state.collideToRightWall ? FLAG_COLLIDE_TO_RIGHT_WALL : 0;
+        flags |= state.collideToLeftWall ? FLAG_COLLIDE_TO_LEFT_WALL : 0;
+        flags |= state.collideToRightBlock ? FLAG_COLLIDE_TO_RIGHT_BLOCK : 0;
+        flags |= state.collideToBottomBlock ? FLAG_COLLIDE_TO_BOTTOM_BLOCK : 0;
+        flags |= state.collideToLeftBlock ? FLAG_COLLIDE_TO_LEFT_BLOCK : 0;
+        flags |= state.collideToTopBlock ? FLAG_COLLIDE_TO_TOP_BLOCK : 0;
+        flags |= state.isGoldStatus ? FLAG_GOLD_STATUS : 0;
+        flags |= state.isExistHeartBlock ? FLAG_EXIST_HEART_BLOCK : 0;
+        flags |= state.isLevelCleared ? FLAG_LEVEL_CLEARED : 0;
+        writeVarint(out, flags);
+
+        Board board = state.board;
+        writeVarint(out, board.getRows());
+        writeVarint(out, board.getColumns());
+        writeVarint(out, board.getRemainingCount());
+        int previous = -1;
+        for (int cell = board.nextLive(0); cell >= 0; cell = board.nextLive(cell + 1)) {
+            // Live cells are written in order, so the gap to the previous one is small
+            writeVarint(out, cell - previous);
+            writeVarint(out, board.getType(cell) - Block.BLOCK_NORMAL);
+            writeVarint(out, board.getColor(cell));
+            previous = cell;
+        }
+
+        writeVarint(out, state.chocoBlock.size());
+        for (Bonus choco : state.chocoBlock) {
+            writeVarint(out, choco.variant);
+            writeDouble(out, choco.x);
+            writeDouble(out, choco.y);
+            writeVarint(out, choco.timeCreated);
+            out.write(choco.taken ? 1 : 0);
+        }
+    }
+
+    /**
+     * Reads a game state written by {@link #writeState(ByteArrayOutputStream, GameState)} into a
+     * simulation, replacing its board and bonuses.
+     *
+     * @param in         The buffer to read from.
+     * @param simulation The simulation whose state is replaced.
+     * @throws IOException If the state is truncated or malformed.
+     */
+    static void readState(ByteBuffer in, GameSimulation simulation) throws IOException {
+        GameState state = simulation.getState();
+        try {
+            state.level = (int) readSigned(in);
+            state.score = (int) readSigned(in);
+            state.heart = (int) readSigned(in);
+            state.powerUp = (int) readSigned(in);
+            state.scoreMultiplier = (int) readSigned(in);
+            state.destroyedBlockCount = (int) readSigned(in);
+
+            state.xBall = readDouble(in);
+            state.yBall = readDouble(in);
+            state.prevXBall = readDouble(in);
+            state.prevYBall = readDouble(in);
+            state.vX = readDouble(in);
+            state.xBreak = readDouble(in);
+            state.yBreak = readDouble(in);
+            state.centerBreakX = readDouble(in);
+            state.paddleVelocity = readDouble(in);
+
+            state.tick = readVarint(in);
+            state.time = readVarint(in);
+            state.hitTime = readVarint(in);
+            state.goldTime = readVarint(in);
+
+            int flags = (int) readVarint(in);
+            state.isBallStuck = (flags & FLAG_BALL_STUCK) != 0;
+            state.goDownBall = (flags & FLAG_GO_DOWN_BALL) != 0;
+            state.goRightBall = (flags & FLAG_GO_RIGHT_BALL) != 0;
+            state.collideToBreak = (flags & FLAG_COLLIDE_TO_BREAK) != 0;
+            state.collideToBreakAndMoveToRight = (flags & FLAG_COLLIDE_TO_BREAK_AND_MOVE_TO_RIGHT) != 0;
+            state.collideToRightWall = (flags & FLAG_COLLIDE_TO_RIGHT_WALL) != 0;
+            state.collideToLeftWall = (flags & FLAG_COLLIDE_TO_LEFT_WALL) != 0;
+            state.collideToRightBlock = (flags & FLAG_COLLIDE_TO_RIGHT_BLOCK) != 0;
+            state.collideToBottomBlock = (flags & FLAG_COLLIDE_TO_BOTTOM_BLOCK) != 0;
+            state.collideToLeftBlock = (flags & FLAG_COLLIDE_TO_LEFT_BLOCK) != 0;
+            state.collideToTopBlock = (flags & FLAG_COLLIDE_TO_TOP_BLOCK) != 0;
+            state.isGoldStatus = (flags & FLAG_GOLD_STATUS) != 0;
+            state.isExistHeartBlock = (flags & FLAG_EXIST_HEART_BLOCK) != 0;
+            state.isLevelCleared = (flags & FLAG_LEVEL_CLEARED) != 0;
+
+            Board board = new Board((int) readVarint(in), (int) readVarint(in));
+            int live = (int) readVarint(in);
+            int cell = -1;
+            for (int i = 0; i < live; i++) {
+                cell += (int) readVarint(in);
+                if (cell >= board.getCellCount()) {
+                    throw new IOException("Replay block outside of its board");
+                }
+                int type = (int) readVarint(in) + Block.BLOCK_NORMAL;
+                int color = (int) readVarint(in);
+                board.place(board.getRow(cell), board.getColumn(cell), type, color);
+            }
+            state.board = board;
+            state.boardVersion++;
+
+            EntityPool<Bonus> pool = simulation.getBonusPool();
+            for (Bonus choco : state.chocoBlock) {
+                pool.release(choco);
+            }
+            state.chocoBlock.clear();
+            int bonuses = (int) readVarint(in);
+            for (int i = 0; i < bonuses; i++) {
+                Bonus choco = pool.acquire();
+                choco.variant = (int) readVarint(in);
+                choco.x = readDouble(in);
+                choco.y = readDouble(in);
+                choco.timeCreated = readVarint(in);
+                choco.taken = in.get() != 0;
+                state.chocoBlock.add(choco);
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated replay", e);
+        }
+    }
+}
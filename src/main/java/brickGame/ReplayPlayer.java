@@ -0,0 +1,305 @@
+package brickGame;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * The {@code ReplayPlayer} class plays back a recording made by {@link ReplayRecorder} on a
+ * headless {@link GameSimulation}.
+ * <p>
+ * The simulation is restored to the recorded state and seed, then stepped with the recorded input
+ * of every tick, applying the recorded level changes in between, so it goes through exactly the
+ * same states as the recorded game. A replay can run at full speed with {@link #runHeadless()}, or
+ * paced at the recorded tick rate by a {@link GameEngine} with {@link #runRealTime()}. Run from the
+ * command line, it prints every tick at which the score, hearts or destroyed blocks changed:
+ * </p>
+ * <pre>
+ * java -p &lt;module path&gt; -m brickGame/brickGame.ReplayPlayer game.replay [--realtime]
+ * </pre>
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>
+ * {@code
+ * ReplayPlayer player = new ReplayPlayer(new File("game.replay"));
+ * player.getSimulation().setListener(listener);
+ * long ticks = player.runHeadless();
+ * }
+ * </pre>
+ */
+public class ReplayPlayer {
+    /**
+     * The simulation the recording is played on.
+     */
+    private final GameSimulation simulation;
+    /**
+     * The events of the recording, positioned at the next event to apply.
+     */
+    private final ByteBuffer events;
+    /**
+     * The number of ticks stepped so far.
+     */
+    private long tick;
+    /**
+     * The tick of the next event, and the event itself.
+     */
+    private long eventTick;
+    private long event;
+    /**
+     * The input mask passed to every tick until the next input event.
+     */
+    private int input;
+    private boolean finished;
+    /**
+     * Called after every tick stepped.
+     */
+    private Runnable onTick = () -> {
+    };
+
+    /**
+     * Constructs a {@code ReplayPlayer} from a recording, with its simulation in the recorded
+     * initial state.
+     *
+     * @param file The recording.
+     * @throws IOException If the file cannot be read or is not a replay in this format.
+     *                     <p>
+     *                     Example usage:
+     *                     </p>
+     *                     <pre>
+     *                     {@code
+     *                     ReplayPlayer player = new ReplayPlayer(new File("game.replay"));
+     *                     }
+     *                     </pre>
+     */
+    public ReplayPlayer(File file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath())).order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            if (buffer.remaining() < 4 || buffer.getInt() != ReplayFormat.MAGIC) {
+                throw new IOException("Not a replay file: " + file);
+            }
+            long version = ReplayFormat.readVarint(buffer);
+            if (version != ReplayFormat.VERSION) {
+                throw new IOException("Unsupported replay version " + version + ": " + file);
+            }
+            simulation = new GameSimulation((int) ReplayFormat.readVarint(buffer));
+            long seed = buffer.getLong();
+            ReplayFormat.readState(buffer, simulation);
+            simulation.setSeed(seed);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated replay file: " + file, e);
+        }
+        events = buffer;
+        readEvent();
+    }
+
+    /**
+     * Gets the simulation the recording is played on, for example to set its listener.
+     *
+     * @return The simulation.
+     */
+    public GameSimulation getSimulation() {
+        return simulation;
+    }
+
+    /**
+     * Sets the action run after every tick stepped, for example to follow the score.
+     *
+     * @param onTick The action, run on the thread stepping the replay.
+     */
+    public void setOnTick(Runnable onTick) {
+        this.onTick = onTick;
+    }
+
+    /**
+     * Gets the number of ticks stepped so far.
+     *
+     * @return The tick count.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Checks whether every recorded tick has been stepped.
+     *
+     * @return {@code true} once the end of the recording is reached.
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Applies the events recorded before the next tick and steps it.
+     *
+     * @return {@code true} if a tick was stepped, {@code false} if the recording has ended.
+     * @throws IOException If the recording is truncated or malformed.
+     */
+    public boolean step() throws IOException {
+        while (!finished && eventTick == tick) {
+            apply(ReplayFormat.kindOf(event));
+            if (!finished) {
+                readEvent();
+            }
+        }
+        if (finished) {
+            return false;
+        }
+        simulation.step(input);
+        tick++;
+        onTick.run();
+        return true;
+    }
+
+    /**
+     * Steps every recorded tick as fast as possible.
+     *
+     * @return The number of ticks stepped.
+     * @throws IOException If the recording is truncated or malformed.
+     */
+    public long runHeadless() throws IOException {
+        long start = tick;
+        while (step()) {
+            // Every tick is stepped by the loop condition
+        }
+        return tick - start;
+    }
+
+    /**
+     * Steps every recorded tick at the recorded tick rate on a {@link GameEngine} and waits until
+     * the recording has ended.
+     *
+     * @return The number of ticks stepped.
+     * @throws IOException          If the recording is truncated or malformed.
+     * @throws InterruptedException If the calling thread is interrupted while waiting.
+     */
+    public long runRealTime() throws IOException, InterruptedException {
+        long start = tick;
+        CountDownLatch done = new CountDownLatch(1);
+        IOException[] failure = new IOException[1];
+
+        GameEngine engine = new GameEngine();
+        engine.setFps(simulation.getTickRate());
+        engine.setFixedStep(true);
+        engine.setOnAction(new GameEngine.OnAction() {
+            @Override
+            public void onUpdate() {
+            }
+
+            @Override
+            public void onInit() {
+            }
+
+            @Override
+            public void onPhysicsUpdate() {
+                if (done.getCount() == 0) {
+                    return;
+                }
+                try {
+                    if (!step()) {
+                        done.countDown();
+                    }
+                } catch (IOException e) {
+                    failure[0] = e;
+                    done.countDown();
+                }
+            }
+
+            @Override
+            public void onTime(long time) {
+            }
+        });
+
+        engine.start();
+        try {
+            done.await();
+        } finally {
+            engine.stop();
+        }
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+        return tick - start;
+    }
+
+    /**
+     * Applies one event the way {@link Main} did between two ticks.
+     */
+    private void apply(int kind) throws IOException {
+        GameState state = simulation.getState();
+        switch (kind) {
+            case ReplayFormat.INPUT:
+                input = ReplayFormat.inputOf(event);
+                break;
+            case ReplayFormat.NEXT_LEVEL:
+                simulation.clearLevel();
+                state.level++;
+                simulation.initLevel();
+                break;
+            case ReplayFormat.SKIP_LEVEL:
+                simulation.skipLevel();
+                break;
+            case ReplayFormat.RESTART:
+                simulation.resetGame();
+                state.level++;
+                simulation.initLevel();
+                break;
+            case ReplayFormat.END:
+                finished = true;
+                break;
+            default:
+                throw new IOException("Unknown replay event " + kind);
+        }
+    }
+
+    /**
+     * Reads the next event and the tick it applies to.
+     */
+    private void readEvent() throws IOException {
+        try {
+            eventTick += ReplayFormat.readVarint(events);
+            event = ReplayFormat.readVarint(events);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated replay events", e);
+        }
+    }
+
+    /**
+     * Plays a recording and prints every tick at which the score, hearts or destroyed block count changed.
+     *
+     * @param args The recording, optionally followed by {@code --realtime} to play it at the recorded speed.
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: ReplayPlayer <replay file> [--realtime]");
+            return;
+        }
+        try {
+            ReplayPlayer player = new ReplayPlayer(new File(args[0]));
+            GameState state = player.getSimulation().getState();
+            int[] last = {state.score, state.heart, state.destroyedBlockCount};
+            System.out.println("tick level score heart destroyed");
+            System.out.println("0 " + state.level + " " + state.score + " " + state.heart + " " + state.destroyedBlockCount);
+            player.setOnTick(() -> {
+                if (state.score != last[0] || state.heart != last[1] || state.destroyedBlockCount != last[2]) {
+                    last[0] = state.score;
+                    last[1] = state.heart;
+                    last[2] = state.destroyedBlockCount;
+                    System.out.println(player.getTick() + " " + state.level + " " + state.score + " "
+                            + state.heart + " " + state.destroyedBlockCount);
+                }
+            });
+
+            long begin = System.nanoTime();
+            long ticks = args.length > 1 && "--realtime".equals(args[1]) ? player.runRealTime() : player.runHeadless();
+            long nanos = System.nanoTime() - begin;
+            System.out.println("Played " + ticks + " ticks in " + nanos / 1_000_000 + " ms");
+        } catch (IOException | InterruptedException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package brickGame;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+
+/**
+ * The {@code ReplayRecorder} class records a game so that {@link ReplayPlayer} can reproduce it
+ * tick for tick.
+ * <p>
+ * The simulation only depends on its state, its random seed and the input mask of every tick, so a
+ * recording is the complete state and the seed at the tick it starts, followed by the ticks at
+ * which the input mask changed and the level changes {@link Main} makes between ticks. Everything
+ * is kept in memory in the compact {@link ReplayFormat} encoding, usually a few bytes per second
+ * of play, and written to a file when the game ends. Recording is switched on by starting the game
+ * with {@code -Dbrick.record=<file>}.
+ * </p>
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>
+ * {@code
+ * ReplayRecorder recorder = new ReplayRecorder();
+ * recorder.start(simulation);
+ * int input = inputState.poll();
+ * recorder.recordTick(input);
+ * simulation.step(input);
+ * recorder.write(new File("game.replay"));
+ * }
+ * </pre>
+ */
+public class ReplayRecorder {
+    /**
+     * The system property naming the file a recording is written to.
+     */
+    public static final String RECORD_PROPERTY = "brick.record";
+
+    /**
+     * The header, initial state and events recorded so far.
+     */
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+    private boolean started;
+    /**
+     * The number of ticks recorded since the recording started.
+     */
+    private long ticks;
+    /**
+     * The tick of the last event written.
+     */
+    private long eventTick;
+    /**
+     * The input mask of the previous tick.
+     */
+    private int input;
+
+    /**
+     * Starts a new recording from the current state of a simulation, discarding anything recorded
+     * before. The random streams of the current level are restarted from the game's seed, which is
+     * stored with the state. Call this from the thread stepping the simulation, between two ticks.
+     *
+     * @param simulation The simulation to record.
+     */
+    public synchronized void start(GameSimulation simulation) {
+        // The streams may have been drawn from already; a replay can only restart them from the seed
+        long seed = simulation.getSeed();
+        simulation.setSeed(seed);
+
+        out.reset();
+        out.write(ReplayFormat.MAGIC);
+        out.write(ReplayFormat.MAGIC >>> 8);
+        out.write(ReplayFormat.MAGIC >>> 16);
+        out.write(ReplayFormat.MAGIC >>> 24);
+        ReplayFormat.writeVarint(out, ReplayFormat.VERSION);
+        ReplayFormat.writeVarint(out, simulation.getTickRate());
+        ReplayFormat.writeFixed64(out, seed);
+        ReplayFormat.writeState(out, simulation.getState());
+
+        started = true;
+        ticks = 0;
+        eventTick = 0;
+        input = 0;
+    }
+
+    /**
+     * Stops recording and discards what was recorded, for example because a save is being loaded.
+     * The next {@link #start(GameSimulation)} begins a new recording.
+     */
+    public synchronized void reset() {
+        out.reset();
+        started = false;
+    }
+
+    /**
+     * Checks whether a recording is in progress.
+     *
+     * @return {@code true} if {@link #start(GameSimulation)} was called since the last {@link #reset()}.
+     */
+    public synchronized boolean isStarted() {
+        return started;
+    }
+
+    /**
+     * Records the input of the tick about to be stepped. Call this on the thread stepping the
+     * simulation, right before {@link GameSimulation#step(int)}.
+     *
+     * @param input The input mask passed to the step.
+     */
+    public synchronized void recordTick(int input) {
+        if (!started) {
+            return;
+        }
+        if (input != this.input) {
+            writeEvent(ReplayFormat.INPUT, input);
+            this.input = input;
+        }
+        ticks++;
+    }
+
+    /**
+     * Records a level change made between two ticks, while nothing is stepping the simulation.
+     *
+     * @param command One of {@link ReplayFormat#NEXT_LEVEL}, {@link ReplayFormat#SKIP_LEVEL} or
+     *                {@link ReplayFormat#RESTART}.
+     */
+    public synchronized void recordCommand(int command) {
+        if (started) {
+            writeEvent(command, 0);
+        }
+    }
+
+    /**
+     * Gets the number of ticks recorded.
+     *
+     * @return The tick count.
+     */
+    public synchronized long getTickCount() {
+        return ticks;
+    }
+
+    /**
+     * Writes the recording to a file, ending it at the last recorded tick. Recording can continue
+     * afterwards and a later call writes the longer recording.
+     *
+     * @param file The file to write, replaced if it exists.
+     * @return The number of bytes written, or 0 if nothing has been recorded.
+     * @throws IOException If the file cannot be written.
+     */
+    public synchronized int write(File file) throws IOException {
+        if (!started) {
+            return 0;
+        }
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            Files.createDirectories(parent.toPath());
+        }
+        ByteArrayOutputStream end = new ByteArrayOutputStream(16);
+        ReplayFormat.writeVarint(end, ticks - eventTick);
+        ReplayFormat.writeVarint(end, ReplayFormat.packEvent(ReplayFormat.END, 0));
+        try (OutputStream stream = new FileOutputStream(file)) {
+            out.writeTo(stream);
+            end.writeTo(stream);
+        }
+        return out.size() + end.size();
+    }
+
+    private void writeEvent(int kind, int input) {
+        ReplayFormat.writeVarint(out, ticks - eventTick);
+        ReplayFormat.writeVarint(out, ReplayFormat.packEvent(kind, input));
+        eventTick = ticks;
+    }
+}
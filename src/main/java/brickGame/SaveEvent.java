@@ -0,0 +1,49 @@
+package brickGame;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The {@code SaveEvent} class is the JDK Flight Recorder event of a save, from the key press to the
+ * save being on disk.
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>
+ * {@code
+ * SaveEvent event = new SaveEvent();
+ * event.begin();
+ * saveService.save(snapshot).thenAccept(bytes -> {
+ *     event.bytes = bytes;
+ *     event.commit();
+ * });
+ * }
+ * </pre>
+ */
+@Name("brickGame.Save")
+@Label("Save Game")
+@Category({"Brick Game", "Persistence"})
+@Description("Capturing, writing and syncing a save")
+public class SaveEvent extends jdk.jfr.Event {
+    @Label("Level")
+    public int level;
+    /**
+     * The simulation tick the save was captured at.
+     */
+    @Label("Tick")
+    public long tick;
+    /**
+     * The number of bytes written, or -1 if the save failed.
+     */
+    @Label("Bytes Written")
+    @DataAmount
+    public long bytes;
+    /**
+     * Whether the save was merged into one already queued.
+     */
+    @Label("Coalesced")
+    public boolean coalesced;
+}
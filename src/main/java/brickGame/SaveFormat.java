@@ -0,0 +1,241 @@
+package brickGame;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+/**
+ * The {@code SaveFormat} class writes and reads the compact binary save file.
+ * <p>
+ * All values are little-endian. A save is a fixed header followed by a packed table of the blocks
+ * that are still standing:
+ * </p>
+ * <pre>
+ * offset  size  field
+ *      0     4  magic "BRKS"
+ *      4     2  format version ({@link #VERSION})
+ *      6     2  header length in bytes, i.e. the offset of the block table
+ *      8     4  level
+ *     12     4  score
+ *     16     4  heart
+ *     20     4  destroyedBlockCount
+ *     24     8  xBall
+ *     32     8  yBall
+ *     40     8  xBreak
+ *     48     8  yBreak
+ *     56     8  centerBreakX
+ *     64     8  vX
+ *     72     8  time
+ *     80     8  goldTime
+ *     88     4  flag word, one bit per boolean (see the FLAG_* constants)
+ *     92     4  block count
+ *     96     8  seed (version 2)
+ *    104  2 * n block table, one 16-bit entry per block:
+ *               bits 15-8 row, bits 7-2 column, bits 1-0 type (type - Block.BLOCK_NORMAL)
+ * </pre>
+ * <p>
+ * New fields are appended to the header and the header length grows with them, so a reader can
+ * always find the block table, and older saves are migrated by giving the missing fields their
+ * defaults.
+ * </p>
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>
+ * {@code
+ * SaveFormat.write(simulation.capture(), file);
+ * LoadSave loadSave = new LoadSave();
+ * SaveFormat.read(file, loadSave);
+ * }
+ * </pre>
+ */
+public final class SaveFormat {
+    /**
+     * The magic number at the start of every save, the bytes "BRKS" read as a little-endian int.
+     */
+    public static final int MAGIC = 0x534B5242;
+    /**
+     * The format version written by this class.
+     */
+    public static final int VERSION = 2;
+    /**
+     * The length of the version 1 header, the shortest a reader accepts.
+     */
+    private static final int HEADER_LENGTH_V1 = 96;
+    /**
+     * The length of the header written by this class.
+     */
+    private static final int HEADER_LENGTH = 104;
+    /**
+     * The size of one block table entry.
+     */
+    private static final int BLOCK_ENTRY_SIZE = 2;
+
+    private static final int FLAG_EXIST_HEART_BLOCK = 1;
+    private static final int FLAG_GOLD_STATUS = 1 << 1;
+    private static final int FLAG_GO_DOWN_BALL = 1 << 2;
+    private static final int FLAG_GO_RIGHT_BALL = 1 << 3;
+    private static final int FLAG_COLLIDE_TO_BREAK = 1 << 4;
+    private static final int FLAG_COLLIDE_TO_BREAK_AND_MOVE_TO_RIGHT = 1 << 5;
+    private static final int FLAG_COLLIDE_TO_RIGHT_WALL = 1 << 6;
+    private static final int FLAG_COLLIDE_TO_LEFT_WALL = 1 << 7;
+    private static final int FLAG_COLLIDE_TO_RIGHT_BLOCK = 1 << 8;
+    private static final int FLAG_COLLIDE_TO_BOTTOM_BLOCK = 1 << 9;
+    private static final int FLAG_COLLIDE_TO_LEFT_BLOCK = 1 << 10;
+    private static final int FLAG_COLLIDE_TO_TOP_BLOCK = 1 << 11;
+
+    private SaveFormat() {
+    }
+
+    /**
+     * Writes the given game snapshot to a file.
+     *
+     * @param state The snapshot of the game to save.
+     * @param file  The file to write.
+     * @return The number of bytes written.
+     * @throws IOException If the file cannot be written or a block does not fit the block table.
+     */
+    public static int write(GameSnapshot state, File file) throws IOException {
+        int count = state.getBlockCount();
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH + count * BLOCK_ENTRY_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC);
+        buffer.putShort((short) VERSION);
+        buffer.putShort((short) HEADER_LENGTH);
+
+        buffer.putInt(state.level);
+        buffer.putInt(state.score);
+        buffer.putInt(state.heart);
+        buffer.putInt(state.destroyedBlockCount);
+
+        buffer.putDouble(state.xBall);
+        buffer.putDouble(state.yBall);
+        buffer.putDouble(state.xBreak);
+        buffer.putDouble(state.yBreak);
+        buffer.putDouble(state.centerBreakX);
+        buffer.putDouble(state.vX);
+        buffer.putLong(state.time);
+        buffer.putLong(state.goldTime);
+
+        int flags = 0;
+        flags |= state.isExistHeartBlock ? FLAG_EXIST_HEART_BLOCK : 0;
+        flags |= state.isGoldStatus ? FLAG_GOLD_STATUS : 0;
+        flags |= state.goDownBall ? FLAG_GO_DOWN_BALL : 0;
+        flags |= state.goRightBall ? FLAG_GO_RIGHT_BALL : 0;
+        flags |= state.collideToBreak ? FLAG_COLLIDE_TO_BREAK : 0;
+        flags |= state.collideToBreakAndMoveToRight ? FLAG_COLLIDE_TO_BREAK_AND_MOVE_TO_RIGHT : 0;
+        flags |= state.collideToRightWall ? FLAG_COLLIDE_TO_RIGHT_WALL : 0;
+        flags |= state.collideToLeftWall ? FLAG_COLLIDE_TO_LEFT_WALL : 0;
+        flags |= state.collideToRightBlock ? FLAG_COLLIDE_TO_RIGHT_BLOCK : 0;
+        flags |= state.collideToBottomBlock ? FLAG_COLLIDE_TO_BOTTOM_BLOCK : 0;
+        flags |= state.collideToLeftBlock ? FLAG_COLLIDE_TO_LEFT_BLOCK : 0;
+        flags |= state.collideToTopBlock ? FLAG_COLLIDE_TO_TOP_BLOCK : 0;
+        buffer.putInt(flags);
+
+        buffer.putInt(count);
+        buffer.putLong(state.seed);
+        for (int i = 0; i < count; i++) {
+            buffer.putShort(packBlock(state.getBlockRow(i), state.getBlockColumn(i), state.getBlockType(i)));
+        }
+        buffer.flip();
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        return buffer.limit();
+    }
+
+    /**
+     * Reads a save file into the fields of a {@code LoadSave}.
+     *
+     * @param file     The file to read.
+     * @param loadSave The object receiving the saved state.
+     * @throws IOException If the file cannot be read or is not a save in this format.
+     */
+    public static void read(File file, LoadSave loadSave) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            buffer = ByteBuffer.allocate((int) channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Keep reading until the whole file is in the buffer
+            }
+        }
+        buffer.flip();
+
+        if (buffer.remaining() < 8 || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a save file: " + file);
+        }
+        int version = Short.toUnsignedInt(buffer.getShort());
+        int headerLength = Short.toUnsignedInt(buffer.getShort());
+        if (version < 1 || headerLength < HEADER_LENGTH_V1 || buffer.limit() < headerLength) {
+            throw new IOException("Unsupported save file version " + version + ": " + file);
+        }
+
+        loadSave.level = buffer.getInt();
+        loadSave.score = buffer.getInt();
+        loadSave.heart = buffer.getInt();
+        loadSave.destroyedBlockCount = buffer.getInt();
+
+        loadSave.xBall = buffer.getDouble();
+        loadSave.yBall = buffer.getDouble();
+        loadSave.xBreak = buffer.getDouble();
+        loadSave.yBreak = buffer.getDouble();
+        loadSave.centerBreakX = buffer.getDouble();
+        loadSave.vX = buffer.getDouble();
+        loadSave.time = buffer.getLong();
+        loadSave.goldTime = buffer.getLong();
+
+        int flags = buffer.getInt();
+        loadSave.isExistHeartBlock = (flags & FLAG_EXIST_HEART_BLOCK) != 0;
+        loadSave.isGoldStatus = (flags & FLAG_GOLD_STATUS) != 0;
+        loadSave.goDownBall = (flags & FLAG_GO_DOWN_BALL) != 0;
+        loadSave.goRightBall = (flags & FLAG_GO_RIGHT_BALL) != 0;
+        loadSave.collideToBreak = (flags & FLAG_COLLIDE_TO_BREAK) != 0;
+        loadSave.collideToBreakAndMoveToRight = (flags & FLAG_COLLIDE_TO_BREAK_AND_MOVE_TO_RIGHT) != 0;
+        loadSave.collideToRightWall = (flags & FLAG_COLLIDE_TO_RIGHT_WALL) != 0;
+        loadSave.collideToLeftWall = (flags & FLAG_COLLIDE_TO_LEFT_WALL) != 0;
+        loadSave.collideToRightBlock = (flags & FLAG_COLLIDE_TO_RIGHT_BLOCK) != 0;
+        loadSave.collideToBottomBlock = (flags & FLAG_COLLIDE_TO_BOTTOM_BLOCK) != 0;
+        loadSave.collideToLeftBlock = (flags & FLAG_COLLIDE_TO_LEFT_BLOCK) != 0;
+        loadSave.collideToTopBlock = (flags & FLAG_COLLIDE_TO_TOP_BLOCK) != 0;
+
+        int count = buffer.getInt();
+
+        loadSave.hasSeed = version >= 2 && headerLength >= HEADER_LENGTH;
+        if (loadSave.hasSeed) {
+            loadSave.seed = buffer.getLong();
+        }
+
+        // Fields added by newer versions sit before the block table; skip the ones we don't know
+        buffer.position(headerLength);
+        if (count < 0 || buffer.remaining() < count * BLOCK_ENTRY_SIZE) {
+            throw new IOException("Truncated save file: " + file);
+        }
+
+        ArrayList<BlockSerializable> blocks = new ArrayList<BlockSerializable>(count);
+        for (int i = 0; i < count; i++) {
+            int entry = Short.toUnsignedInt(buffer.getShort());
+            blocks.add(new BlockSerializable(entry >>> 8, (entry >>> 2) & 0x3F, (entry & 0x3) + Block.BLOCK_NORMAL));
+        }
+        loadSave.blocks = blocks;
+    }
+
+    /**
+     * Packs a block into one 16-bit block table entry.
+     */
+    private static short packBlock(int row, int column, int type) throws IOException {
+        int typeCode = type - Block.BLOCK_NORMAL;
+        if (row < 0 || row > 0xFF || column < 0 || column > 0x3F || typeCode < 0 || typeCode > 0x3) {
+            throw new IOException("Block at row " + row + ", column " + column + " of type " + type
+                    + " does not fit the save format");
+        }
+        return (short) (row << 8 | column << 2 | typeCode);
+    }
+}
@@ -0,0 +1,239 @@
+package brickGame;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The {@code SaveService} class writes saves on one dedicated background thread without ever
+ * leaving a half-written save file behind.
+ * <p>
+ * Each save is written to a temporary file next to the target, forced to disk and then atomically
+ * renamed over the previous save, so a crash mid-write leaves the old save intact. Requests that
+ * arrive while a save is still queued are coalesced into that save: only the newest snapshot is
+ * written, and every caller's future completes when it is on disk.
+ * </p>
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>
+ * {@code
+ * SaveService saveService = new SaveService(new File(Main.savePath));
+ * saveService.save(simulation.capture()).thenRun(() -> System.out.println("Saved"));
+ * }
+ * </pre>
+ */
+public class SaveService {
+    /**
+     * The save file written by this service.
+     */
+    private final File file;
+    /**
+     * The single thread that writes every save.
+     */
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "SaveService-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /**
+     * The save waiting for the writer, or {@code null} if none is queued.
+     */
+    private final AtomicReference<PendingSave> pending = new AtomicReference<PendingSave>();
+
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong writeCount = new AtomicLong();
+    private final AtomicLong totalWriteNanos = new AtomicLong();
+    private final AtomicLong maxWriteNanos = new AtomicLong();
+    private volatile long lastWriteNanos;
+    private volatile int lastWriteBytes;
+
+    /**
+     * Constructs a {@code SaveService} that writes to the given file.
+     *
+     * @param file The save file.
+     *             <p>
+     *             Example usage:
+     *             </p>
+     *             <pre>
+     *             {@code
+     *             SaveService saveService = new SaveService(new File(Main.savePath));
+     *             }
+     *             </pre>
+     */
+    public SaveService(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Queues a save of the given snapshot.
+     *
+     * @param state The snapshot of the game to save.
+     * @return A future completed with the number of bytes written once the save is safely on disk.
+     */
+    public CompletableFuture<Integer> save(GameSnapshot state) {
+        requestCount.incrementAndGet();
+        while (true) {
+            PendingSave queued = pending.get();
+            if (queued != null && queued.replace(state)) {
+                // Coalesced into the save that is already waiting for the writer
+                return queued.future;
+            }
+            PendingSave next = new PendingSave(state);
+            if (pending.compareAndSet(queued, next)) {
+                writer.execute(this::writePending);
+                return next.future;
+            }
+        }
+    }
+
+    /**
+     * Takes the queued save and writes it.
+     */
+    private void writePending() {
+        PendingSave save = pending.getAndSet(null);
+        if (save == null) {
+            return;
+        }
+        GameSnapshot state = save.claim();
+
+        long start = System.nanoTime();
+        try {
+            int bytes = writeAtomically(state);
+            record(System.nanoTime() - start, bytes);
+            save.future.complete(bytes);
+        } catch (IOException | RuntimeException e) {
+            save.future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Writes the snapshot to a temporary file, forces it to disk and renames it over the save file.
+     *
+     * @param state The snapshot of the game to save.
+     * @return The number of bytes written.
+     * @throws IOException If the save cannot be written.
+     */
+    private int writeAtomically(GameSnapshot state) throws IOException {
+        Path target = file.toPath().toAbsolutePath();
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        int bytes = SaveFormat.write(state, temp.toFile());
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return bytes;
+    }
+
+    private void record(long nanos, int bytes) {
+        writeCount.incrementAndGet();
+        totalWriteNanos.addAndGet(nanos);
+        maxWriteNanos.accumulateAndGet(nanos, Math::max);
+        lastWriteNanos = nanos;
+        lastWriteBytes = bytes;
+    }
+
+    /**
+     * Gets the number of saves requested, including the ones coalesced into another save.
+     *
+     * @return The request count.
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * Gets the number of saves actually written to disk.
+     *
+     * @return The write count.
+     */
+    public long getWriteCount() {
+        return writeCount.get();
+    }
+
+    /**
+     * Gets the duration of the last write, including the fsync and the rename.
+     *
+     * @return The last write latency in nanoseconds.
+     */
+    public long getLastWriteNanos() {
+        return lastWriteNanos;
+    }
+
+    /**
+     * Gets the mean duration of a write.
+     *
+     * @return The mean write latency in nanoseconds, or 0 if nothing was written yet.
+     */
+    public long getMeanWriteNanos() {
+        long count = writeCount.get();
+        return count == 0 ? 0 : totalWriteNanos.get() / count;
+    }
+
+    /**
+     * Gets the longest duration of a write.
+     *
+     * @return The maximum write latency in nanoseconds.
+     */
+    public long getMaxWriteNanos() {
+        return maxWriteNanos.get();
+    }
+
+    /**
+     * Gets the size of the last save written.
+     *
+     * @return The number of bytes in the last save.
+     */
+    public int getLastWriteBytes() {
+        return lastWriteBytes;
+    }
+
+    /**
+     * A save waiting for the writer. Its snapshot can be replaced until the writer claims it.
+     */
+    private static final class PendingSave {
+        private final CompletableFuture<Integer> future = new CompletableFuture<Integer>();
+        private GameSnapshot state;
+        private boolean claimed;
+
+        private PendingSave(GameSnapshot state) {
+            this.state = state;
+        }
+
+        /**
+         * Replaces the snapshot to save, unless the writer has already started on it.
+         */
+        private synchronized boolean replace(GameSnapshot state) {
+            if (claimed) {
+                return false;
+            }
+            this.state = state;
+            return true;
+        }
+
+        /**
+         * Marks the save as started and returns the snapshot to write.
+         */
+        private synchronized GameSnapshot claim() {
+            claimed = true;
+            return state;
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package brickGame;
+
+import javafx.scene.media.AudioClip;
+
+import java.net.URL;
+
+/**
+ * The {@code SoundEffects} class plays the game's sound effects with low latency and a bounded
+ * number of overlapping voices.
+ * <p>
+ * Every effect is loaded once from the classpath into a few {@link AudioClip}s, which are decoded
+ * into memory and start playing almost immediately. Each clip instance is one voice, so the same
+ * effect can overlap itself. When all voices are busy the one that started first is stopped to make
+ * room (voice stealing), and repeats of an effect that arrive within {@code minIntervalMillis} of the
+ * previous one are dropped, so a tick that breaks many blocks at once does not stack up identical
+ * sounds. {@link #play(Effect)} can be called from any thread.
+ * </p>
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>
+ * {@code
+ * SoundEffects sounds = new SoundEffects(8, 2, 30);
+ * sounds.play(SoundEffects.Effect.STAR);
+ * }
+ * </pre>
+ */
+public class SoundEffects {
+    /**
+     * The sound effects of the game and the resources they are loaded from.
+     */
+    public enum Effect {
+        /**
+         * Played when a level starts.
+         */
+        START("start.mp3"),
+        /**
+         * Played when a new level is reached.
+         */
+        LEVEL_UP("levelup.mp3"),
+        /**
+         * Played when a choco block releases a bonus.
+         */
+        CHOCO("choco.mp3"),
+        /**
+         * Played when a heart block is destroyed.
+         */
+        HEART("heart.mp3"),
+        /**
+         * Played when a star block is destroyed.
+         */
+        STAR("star.mp3");
+
+        private final String resource;
+
+        Effect(String resource) {
+            this.resource = resource;
+        }
+    }
+
+    /**
+     * The maximum number of voices playing at once across all effects.
+     */
+    private final int maxVoices;
+    /**
+     * The shortest time between two starts of the same effect, in nanoseconds.
+     */
+    private final long minIntervalNanos;
+    /**
+     * The clip instances of each effect, indexed by {@link Effect#ordinal()}; {@code null} if the
+     * effect could not be loaded.
+     */
+    private final AudioClip[][] voices;
+    /**
+     * When each voice was last started, parallel to {@link #voices}.
+     */
+    private final long[][] startedNanos;
+    /**
+     * When each effect was last started.
+     */
+    private final long[] lastPlayNanos;
+
+    private long playCount;
+    private long droppedCount;
+    private long stolenCount;
+
+    /**
+     * Constructs a {@code SoundEffects} engine and loads every effect.
+     *
+     * @param maxVoices         The maximum number of voices playing at once across all effects.
+     * @param voicesPerEffect   The maximum number of overlapping voices of one effect.
+     * @param minIntervalMillis The shortest time between two starts of the same effect.
+     *                          <p>
+     *                          Example usage:
+     *                          </p>
+     *                          <pre>
+     *                          {@code
+     *                          SoundEffects sounds = new SoundEffects(8, 2, 30);
+     *                          }
+     *                          </pre>
+     */
+    public SoundEffects(int maxVoices, int voicesPerEffect, long minIntervalMillis) {
+        this.maxVoices = maxVoices;
+        this.minIntervalNanos = minIntervalMillis * 1_000_000L;
+
+        Effect[] effects = Effect.values();
+        voices = new AudioClip[effects.length][];
+        startedNanos = new long[effects.length][voicesPerEffect];
+        lastPlayNanos = new long[effects.length];
+
+        for (Effect effect : effects) {
+            URL url = SoundEffects.class.getResource("/" + effect.resource);
+            if (url == null) {
+                new IllegalStateException("Missing sound effect " + effect.resource).printStackTrace();
+                continue;
+            }
+            try {
+                AudioClip[] clips = new AudioClip[voicesPerEffect];
+                for (int i = 0; i < voicesPerEffect; i++) {
+                    clips[i] = new AudioClip(url.toExternalForm());
+                }
+                voices[effect.ordinal()] = clips;
+            } catch (RuntimeException e) {
+                // No audio device or unsupported format: play the game without this effect
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Plays an effect on a free voice, stealing the oldest voice if none is free.
+     *
+     * @param effect The effect to play.
+     * @return {@code true} if the effect was started, {@code false} if it was rate limited or could
+     * not be loaded.
+     */
+    public synchronized boolean play(Effect effect) {
+        int index = effect.ordinal();
+        AudioClip[] clips = voices[index];
+        if (clips == null) {
+            return false;
+        }
+
+        long now = System.nanoTime();
+        if (lastPlayNanos[index] != 0 && now - lastPlayNanos[index] < minIntervalNanos) {
+            droppedCount++;
+            return false;
+        }
+
+        // A free instance of this effect, or else its oldest one
+        int voice = 0;
+        for (int i = 0; i < clips.length; i++) {
+            if (!clips[i].isPlaying()) {
+                voice = i;
+                break;
+            }
+            if (startedNanos[index][i] < startedNanos[index][voice]) {
+                voice = i;
+            }
+        }
+        if (clips[voice].isPlaying()) {
+            clips[voice].stop();
+            stolenCount++;
+        } else if (countPlaying() >= maxVoices) {
+            stealOldest();
+        }
+
+        clips[voice].play();
+        startedNanos[index][voice] = now;
+        lastPlayNanos[index] = now;
+        playCount++;
+        return true;
+    }
+
+    /**
+     * Stops every voice, for example when the game is closed.
+     */
+    public synchronized void stopAll() {
+        for (AudioClip[] clips : voices) {
+            if (clips == null) {
+                continue;
+            }
+            for (AudioClip clip : clips) {
+                clip.stop();
+            }
+        }
+    }
+
+    private int countPlaying() {
+        int playing = 0;
+        for (AudioClip[] clips : voices) {
+            if (clips == null) {
+                continue;
+            }
+            for (AudioClip clip : clips) {
+                if (clip.isPlaying()) {
+                    playing++;
+                }
+            }
+        }
+        return playing;
+    }
+
+    /**
+     * Stops the voice that started first among all effects.
+     */
+    private void stealOldest() {
+        AudioClip oldest = null;
+        long oldestStart = Long.MAX_VALUE;
+        for (int e = 0; e < voices.length; e++) {
+            if (voices[e] == null) {
+                continue;
+            }
+            for (int i = 0; i < voices[e].length; i++) {
+                if (voices[e][i].isPlaying() && startedNanos[e][i] < oldestStart) {
+                    oldest = voices[e][i];
+                    oldestStart = startedNanos[e][i];
+                }
+            }
+        }
+        if (oldest != null) {
+            oldest.stop();
+            stolenCount++;
+        }
+    }
+
+    /**
+     * Gets the number of effects started.
+     *
+     * @return The play count.
+     */
+    public synchronized long getPlayCount() {
+        return playCount;
+    }
+
+    /**
+     * Gets the number of effects dropped by the rate limit.
+     *
+     * @return The dropped count.
+     */
+    public synchronized long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * Gets the number of voices stopped early to make room for a new one.
+     *
+     * @return The stolen count.
+     */
+    public synchronized long getStolenCount() {
+        return stolenCount;
+    }
+}
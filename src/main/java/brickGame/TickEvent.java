@@ -0,0 +1,54 @@
+package brickGame;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * The {@code TickEvent} class is the JDK Flight Recorder event of one fixed simulation step of the
+ * {@link GameEngine}, covering {@code onTime}, {@code onPhysicsUpdate} and {@code onUpdate}.
+ * <p>
+ * The event is only filled in and committed while a recording has it enabled, so an idle
+ * {@code TickEvent} costs a single {@link #shouldCommit()} check per step.
+ * </p>
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>
+ * {@code
+ * TickEvent event = new TickEvent();
+ * event.begin();
+ * onAction.onPhysicsUpdate();
+ * if (event.shouldCommit()) {
+ *     event.time = time;
+ *     event.commit();
+ * }
+ * }
+ * </pre>
+ */
+@Name("brickGame.Tick")
+@Label("Game Tick")
+@Category({"Brick Game", "Engine"})
+@Description("One fixed simulation step of the game engine")
+@StackTrace(false)
+public class TickEvent extends jdk.jfr.Event {
+    /**
+     * The simulated game time at the end of the step.
+     */
+    @Label("Game Time")
+    @Timespan(Timespan.MILLISECONDS)
+    public long time;
+    /**
+     * The position of the step within its frame; anything above 0 is a catch-up step.
+     */
+    @Label("Step In Frame")
+    public int stepInFrame;
+    /**
+     * The number of steps dropped by the engine so far because it fell behind.
+     */
+    @Label("Dropped Steps")
+    public long droppedSteps;
+}
@@ -5,9 +5,9 @@
  * for the Brick Game JavaFX application.
  * </p>
  * <p>
- * The module requires the JavaFX FXML and Controls modules and opens the {@code brickGame}
- * package to JavaFX FXML. It exports the {@code brickGame} package, making it accessible
- * to other modules.
+ * The module requires the JavaFX FXML, Controls and Media modules and {@code jdk.jfr} for its
+ * Flight Recorder events. It opens the {@code brickGame} package to JavaFX FXML and exports it,
+ * making it accessible to other modules.
  * Example module-info.java:
  * </p>
  * <pre>
@@ -15,6 +15,8 @@
  * module brickGame {
  *     requires javafx.fxml;
  *     requires javafx.controls;
+ *     requires javafx.media;
+ *     requires jdk.jfr;
  *
  *     opens brickGame to javafx.fxml;
  *     exports brickGame;
@@ -26,6 +28,7 @@ module brickGame {
     requires javafx.fxml;
     requires javafx.controls;
     requires javafx.media;
+    requires jdk.jfr;
 
     opens brickGame to javafx.fxml;
     exports brickGame;
@@ -0,0 +1,43 @@
+package brickGame;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link GameSimulation}, run headless.
+ */
+class GameSimulationTest {
+    /**
+     * A ball waiting on the paddle rides on it: its jump onto the paddle is not swept across the
+     * board, so no block is destroyed and nothing is scored until the ball is launched.
+     */
+    @Test
+    void boardIsUnchangedUntilLaunch() {
+        for (long seed = 0; seed < 100; seed++) {
+            for (int level = 1; level <= 20; level++) {
+                GameSimulation simulation = new GameSimulation(120);
+                simulation.setSeed(seed);
+                GameState state = simulation.getState();
+                state.level = level;
+                simulation.initLevel();
+                int blocks = state.board.getRemainingCount();
+
+                for (int tick = 0; tick < 600; tick++) {
+                    simulation.step(0);
+                }
+
+                String where = "seed " + seed + ", level " + level;
+                assertTrue(state.isBallStuck, where);
+                assertEquals(blocks, state.board.getRemainingCount(), where);
+                assertEquals(0, state.destroyedBlockCount, where);
+                assertEquals(0, state.score, where);
+
+                simulation.step(GameSimulation.INPUT_LAUNCH);
+                assertFalse(state.isBallStuck, where);
+            }
+        }
+    }
+}